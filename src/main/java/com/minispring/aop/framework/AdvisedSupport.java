@@ -3,6 +3,7 @@ package com.minispring.aop.framework;
 import com.minispring.aop.Advisor;
 import com.minispring.aop.PointcutAdvisor;
 import com.minispring.aop.support.DefaultPointcutAdvisor;
+import com.minispring.core.trace.ContainerTrace;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -127,30 +128,32 @@ public class AdvisedSupport {
             return cached;
         }
         
-        System.out.println("AdvisedSupport: Calculating interceptor chain for method " + method.getName());
-        System.out.println("AdvisedSupport: Target class " + targetClass.getName());
-        System.out.println("AdvisedSupport: Interfaces: " + (targetClass.getInterfaces().length > 0 ? targetClass.getInterfaces()[0].getName() : "none"));
-        System.out.println("AdvisedSupport: Number of advisors " + this.advisors.size());
+        ContainerTrace.trace(AdvisedSupport.class, "AdvisedSupport: Calculating interceptor chain for method {}", method.getName());
+        ContainerTrace.trace(AdvisedSupport.class, "AdvisedSupport: Target class {}", targetClass.getName());
+        if (ContainerTrace.isEnabled(AdvisedSupport.class)) {
+            ContainerTrace.trace(AdvisedSupport.class, "AdvisedSupport: Interfaces: {}", (targetClass.getInterfaces().length > 0 ? targetClass.getInterfaces()[0].getName() : "none"));
+        }
+        ContainerTrace.trace(AdvisedSupport.class, "AdvisedSupport: Number of advisors {}", this.advisors.size());
         
         // Calculate advice applicable to this method
         List<Object> interceptors = new ArrayList<>();
         for (Advisor advisor : this.advisors) {
-            System.out.println("AdvisedSupport: Checking advisor " + advisor.getClass().getName());
+            ContainerTrace.trace(AdvisedSupport.class, "AdvisedSupport: Checking advisor {}", advisor.getClass().getName());
             
             if (advisor instanceof PointcutAdvisor) {
                 PointcutAdvisor pointcutAdvisor = (PointcutAdvisor) advisor;
-                System.out.println("AdvisedSupport: This is a pointcut advisor: " + pointcutAdvisor.getClass().getName());
+                ContainerTrace.trace(AdvisedSupport.class, "AdvisedSupport: This is a pointcut advisor: {}", pointcutAdvisor.getClass().getName());
                 
                 // Check if pointcut matches class
                 boolean classMatches = pointcutAdvisor.getPointcut().getClassFilter().matches(targetClass);
-                System.out.println("AdvisedSupport: Class match result: " + classMatches);
+                ContainerTrace.trace(AdvisedSupport.class, "AdvisedSupport: Class match result: {}", classMatches);
                 
                 // For classes implementing interfaces, also check if matches interface
                 if (!classMatches && targetClass.getInterfaces().length > 0) {
                     for (Class<?> iface : targetClass.getInterfaces()) {
                         if (pointcutAdvisor.getPointcut().getClassFilter().matches(iface)) {
                             classMatches = true;
-                            System.out.println("AdvisedSupport: Interface match result: " + classMatches + " for interface " + iface.getName());
+                            ContainerTrace.trace(AdvisedSupport.class, "AdvisedSupport: Interface match result: {} for interface {}", classMatches, iface.getName());
                             break;
                         }
                     }
@@ -160,7 +163,7 @@ public class AdvisedSupport {
                 boolean methodMatches = false;
                 if (classMatches) {
                     methodMatches = pointcutAdvisor.getPointcut().getMethodMatcher().matches(method, targetClass);
-                    System.out.println("AdvisedSupport: Method match result: " + methodMatches);
+                    ContainerTrace.trace(AdvisedSupport.class, "AdvisedSupport: Method match result: {}", methodMatches);
                     
                     // If method doesn't match, try to find and match corresponding method on interface
                     if (!methodMatches && targetClass.getInterfaces().length > 0) {
@@ -168,13 +171,13 @@ public class AdvisedSupport {
                             try {
                                 Method ifaceMethod = iface.getMethod(method.getName(), method.getParameterTypes());
                                 methodMatches = pointcutAdvisor.getPointcut().getMethodMatcher().matches(ifaceMethod, iface);
-                                System.out.println("AdvisedSupport: Interface method match result: " + methodMatches + " for interface " + iface.getName());
+                                ContainerTrace.trace(AdvisedSupport.class, "AdvisedSupport: Interface method match result: {} for interface {}", methodMatches, iface.getName());
                                 if (methodMatches) {
                                     break;
                                 }
                             } catch (NoSuchMethodException ex) {
                                 // Method not found on interface, continue to next interface
-                                System.out.println("AdvisedSupport: Interface " + iface.getName() + " does not have method " + method.getName());
+                                ContainerTrace.trace(AdvisedSupport.class, "AdvisedSupport: Interface {} does not have method {}", iface.getName(), method.getName());
                             }
                         }
                     }
@@ -182,17 +185,17 @@ public class AdvisedSupport {
                 
                 // If matches, add advice
                 if ((classMatches && methodMatches)) {
-                    System.out.println("AdvisedSupport: Match successful, adding advice: " + advisor.getAdvice().getClass().getName());
+                    ContainerTrace.trace(AdvisedSupport.class, "AdvisedSupport: Match successful, adding advice: {}", advisor.getAdvice().getClass().getName());
                     interceptors.add(advisor.getAdvice());
                 }
             } else {
                 // If not a PointcutAdvisor, add advice directly
-                System.out.println("AdvisedSupport: Not a pointcut advisor, adding advice directly");
+                ContainerTrace.trace(AdvisedSupport.class, "AdvisedSupport: Not a pointcut advisor, adding advice directly");
                 interceptors.add(advisor.getAdvice());
             }
         }
         
-        System.out.println("AdvisedSupport: Final number of interceptors: " + interceptors.size());
+        ContainerTrace.trace(AdvisedSupport.class, "AdvisedSupport: Final number of interceptors: {}", interceptors.size());
         
         // Cache result
         this.methodCache.put(method, interceptors);
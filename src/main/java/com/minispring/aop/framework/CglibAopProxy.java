@@ -2,7 +2,9 @@ package com.minispring.aop.framework;
 
 import com.minispring.aop.AfterReturningAdvice;
 import com.minispring.aop.MethodBeforeAdvice;
-import net.sf.cglib.proxy.Enhancer;
+import com.minispring.core.jfr.AopInvocationEvent;
+import com.minispring.util.CglibClassCache;
+import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
 
@@ -15,6 +17,9 @@ import java.util.List;
  */
 public class CglibAopProxy implements AopProxy {
     
+    // Callback types of generated proxy classes
+    private static final Class<?>[] CALLBACK_TYPES = {MethodInterceptor.class};
+    
     // Proxy configuration
     private final AdvisedSupport advised;
     
@@ -42,16 +47,9 @@ public class CglibAopProxy implements AopProxy {
             throw new IllegalStateException("Target class must be available for creating a CGLIB proxy");
         }
         
-        // Create CGLIB enhancer
-        Enhancer enhancer = new Enhancer();
-        if (classLoader != null) {
-            enhancer.setClassLoader(classLoader);
-        }
-        enhancer.setSuperclass(targetClass);
-        enhancer.setCallback(new CglibMethodInterceptor());
-        
-        // Create proxy instance
-        return enhancer.create();
+        // Create proxy instance, the proxy class is generated once per target class and class loader
+        return CglibClassCache.newInstance(targetClass, CALLBACK_TYPES, classLoader,
+                new Callback[]{new CglibMethodInterceptor()});
     }
     
     /**
@@ -62,6 +60,7 @@ public class CglibAopProxy implements AopProxy {
         @Override
         public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
             Object target = null;
+            AopInvocationEvent invocationEvent = AopInvocationEvent.beginIfEnabled();
             
             try {
                 target = advised.getTargetSource().getTarget();
@@ -71,6 +70,9 @@ public class CglibAopProxy implements AopProxy {
                 
                 // Get interceptor chain for the method
                 List<Object> chain = advised.getInterceptorsAndDynamicInterceptionAdvice(method, target.getClass());
+                if (invocationEvent != null) {
+                    invocationEvent.setInterceptorCount(chain.size());
+                }
                 
                 // If no interceptors, invoke target method directly
                 if (chain.isEmpty()) {
@@ -86,6 +88,9 @@ public class CglibAopProxy implements AopProxy {
                 if (target != null) {
                     advised.getTargetSource().releaseTarget(target);
                 }
+                if (invocationEvent != null) {
+                    invocationEvent.commit("cglib", advised.getTargetSource().getTargetClass(), method);
+                }
             }
         }
     }
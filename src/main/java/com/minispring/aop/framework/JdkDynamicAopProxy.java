@@ -3,6 +3,8 @@ package com.minispring.aop.framework;
 import com.minispring.aop.Advice;
 import com.minispring.aop.MethodBeforeAdvice;
 import com.minispring.aop.AfterReturningAdvice;
+import com.minispring.core.trace.ContainerTrace;
+import com.minispring.core.jfr.AopInvocationEvent;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
@@ -52,6 +54,7 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         Object target = null;
+        AopInvocationEvent invocationEvent = AopInvocationEvent.beginIfEnabled();
         
         try {
             target = this.advised.getTargetSource().getTarget();
@@ -59,7 +62,7 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
                 throw new IllegalStateException("Target is null");
             }
             
-            System.out.println("JdkDynamicAopProxy.invoke: method=" + method.getName() + ", target=" + target.getClass().getName());
+            ContainerTrace.trace(JdkDynamicAopProxy.class, "JdkDynamicAopProxy.invoke: method={}, target={}", method.getName(), target.getClass().getName());
             
             // Get method from target class (not from interface)
             Method targetMethod = null;
@@ -72,11 +75,14 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
             
             // Get interceptor chain for the method
             List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, this.advised.getTargetClass());
-            System.out.println("JdkDynamicAopProxy.invoke: interceptors=" + chain.size());
+            ContainerTrace.trace(JdkDynamicAopProxy.class, "JdkDynamicAopProxy.invoke: interceptors={}", chain.size());
+            if (invocationEvent != null) {
+                invocationEvent.setInterceptorCount(chain.size());
+            }
             
             // If no interceptors, invoke target method directly
             if (chain.isEmpty()) {
-                System.out.println("JdkDynamicAopProxy.invoke: No interceptors, direct invoke");
+                ContainerTrace.trace(JdkDynamicAopProxy.class, "JdkDynamicAopProxy.invoke: No interceptors, direct invoke");
                 return method.invoke(target, args);
             }
             
@@ -89,6 +95,9 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
             if (target != null) {
                 this.advised.getTargetSource().releaseTarget(target);
             }
+            if (invocationEvent != null) {
+                invocationEvent.commit("jdk", this.advised.getTargetClass(), method);
+            }
         }
     }
     
@@ -100,7 +109,7 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
      * @throws Throwable if an error occurs during processing
      */
     private Object processInterceptors(List<Object> chain, ReflectiveMethodInvocation invocation) throws Throwable {
-        System.out.println("Starting to process interceptor chain with " + chain.size() + " interceptors");
+        ContainerTrace.trace(JdkDynamicAopProxy.class, "Starting to process interceptor chain with {} interceptors", chain.size());
         
         // Create method invocation object containing interceptor chain
         AopMethodInvocation methodInvocation = new AopMethodInvocation(invocation, chain);
@@ -125,22 +134,22 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
         public Object proceed() throws Throwable {
             // All interceptors executed, invoke target method
             if (this.currentInterceptorIndex == this.interceptorsAndAdvices.size() - 1) {
-                System.out.println("Invoking target method directly");
+                ContainerTrace.trace(JdkDynamicAopProxy.class, "Invoking target method directly");
                 return super.proceed();
             }
             
             // Get next interceptor
             Object interceptorOrAdvice = this.interceptorsAndAdvices.get(++this.currentInterceptorIndex);
-            System.out.println("Processing interceptor: " + interceptorOrAdvice.getClass().getName());
+            ContainerTrace.trace(JdkDynamicAopProxy.class, "Processing interceptor: {}", interceptorOrAdvice.getClass().getName());
             
             // Handle different types of advice
             if (interceptorOrAdvice instanceof MethodBeforeAdvice) {
-                System.out.println("Executing before advice");
+                ContainerTrace.trace(JdkDynamicAopProxy.class, "Executing before advice");
                 MethodBeforeAdvice beforeAdvice = (MethodBeforeAdvice) interceptorOrAdvice;
                 beforeAdvice.before(getMethod(), getArguments(), getThis());
                 return proceed();
             } else if (interceptorOrAdvice instanceof AfterReturningAdvice) {
-                System.out.println("Executing after returning advice");
+                ContainerTrace.trace(JdkDynamicAopProxy.class, "Executing after returning advice");
                 Object returnValue = proceed();
                 AfterReturningAdvice afterAdvice = (AfterReturningAdvice) interceptorOrAdvice;
                 afterAdvice.afterReturning(returnValue, getMethod(), getArguments(), getThis());
@@ -1,9 +1,5 @@
 package com.minispring.beans;
 
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-
 /**
  * Bean Wrapper
  * Used to encapsulate Bean instances
@@ -18,7 +14,6 @@ public class BeanWrapper {
     public BeanWrapper(Object wrappedInstance) {
         this.wrappedInstance = wrappedInstance;
         this.wrappedClass = wrappedInstance.getClass();
-        this.typeConverter = new SimpleTypeConverter();
     }
 
     /**
@@ -111,6 +106,34 @@ public class BeanWrapper {
         setPropertyValueInternal(wrappedInstance, propertyName, value);
     }
     
+    /**
+     * Get type of a simple (non-nested) property
+     * 
+     * @param propertyName property name
+     * @return property type, returns null if not found or nested
+     */
+    public Class<?> getPropertyType(String propertyName) {
+        if (propertyName == null || propertyName.isEmpty() || propertyName.indexOf('.') >= 0) {
+            return null;
+        }
+        return getPropertyType(wrappedClass, propertyName);
+    }
+    
+    /**
+     * Convert value to the type of a simple property, if necessary
+     * 
+     * @param value value to convert
+     * @param propertyType target property type
+     * @return converted value
+     * @throws TypeMismatchException if conversion fails
+     */
+    public Object convertIfNecessary(Object value, Class<?> propertyType) throws TypeMismatchException {
+        if (value == null || propertyType.isInstance(value)) {
+            return value;
+        }
+        return getTypeConverter().convert(value, propertyType);
+    }
+    
     /**
      * Internal method: Get property value
      * 
@@ -121,30 +144,9 @@ public class BeanWrapper {
      */
     private Object getPropertyValueInternal(Object object, String propertyName) throws BeansException {
         try {
-            // First try to get through getter method
-            String getterMethodName = "get" + propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
-            try {
-                Method getterMethod = object.getClass().getMethod(getterMethodName);
-                return getterMethod.invoke(object);
-            } catch (NoSuchMethodException e) {
-                // If no getter method, try boolean type isXxx method
-                if (propertyName.startsWith("is")) {
-                    getterMethodName = propertyName;
-                } else {
-                    getterMethodName = "is" + propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
-                }
-                
-                try {
-                    Method isMethod = object.getClass().getMethod(getterMethodName);
-                    return isMethod.invoke(object);
-                } catch (NoSuchMethodException e1) {
-                    // If no getter and isXxx methods, try direct field access
-                    Field field = object.getClass().getDeclaredField(propertyName);
-                    field.setAccessible(true);
-                    return field.get(object);
-                }
-            }
-        } catch (Exception e) {
+            // Getter or field handle resolved once per class
+            return PropertyAccessorMetadata.forClass(object.getClass()).getPropertyAccessor(propertyName).getValue(object);
+        } catch (Throwable e) {
             throw new BeansException("Failed to get property value: " + propertyName, e);
         }
     }
@@ -158,34 +160,23 @@ public class BeanWrapper {
      * @throws BeansException if setting property value fails
      */
     private void setPropertyValueInternal(Object object, String propertyName, Object value) throws BeansException {
+        PropertyAccessorMetadata.PropertyAccessor accessor =
+                PropertyAccessorMetadata.forClass(object.getClass()).getPropertyAccessor(propertyName);
+        if (accessor.getPropertyType() == null) {
+            throw new BeansException("Cannot determine property type: " + propertyName);
+        }
         try {
-            // Get property type
-            Class<?> propertyType = getPropertyType(object.getClass(), propertyName);
-            if (propertyType == null) {
-                throw new BeansException("Cannot determine property type: " + propertyName);
-            }
-            
             // Type conversion
             Object convertedValue = value;
-            if (value != null && !propertyType.isInstance(value)) {
-                convertedValue = typeConverter.convert(value, propertyType);
+            if (value != null && !accessor.isAssignableValue(value)) {
+                convertedValue = getTypeConverter().convert(value, accessor.getPropertyType());
             }
             
-            // First try to set through setter method
-            String setterMethodName = "set" + propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
-            try {
-                Method setterMethod = object.getClass().getMethod(setterMethodName, propertyType);
-                setterMethod.invoke(object, convertedValue);
-                return;
-            } catch (NoSuchMethodException e) {
-                // If no setter method, try direct field setting
-                Field field = object.getClass().getDeclaredField(propertyName);
-                field.setAccessible(true);
-                field.set(object, convertedValue);
-            }
+            // Setter or field handle resolved once per class
+            accessor.setValue(object, convertedValue);
         } catch (TypeMismatchException e) {
             throw e;
-        } catch (Exception e) {
+        } catch (Throwable e) {
             throw new BeansException("Failed to set property value: " + propertyName, e);
         }
     }
@@ -198,40 +189,18 @@ public class BeanWrapper {
      * @return property type, returns null if not found
      */
     private Class<?> getPropertyType(Class<?> beanClass, String propertyName) {
-        // First try to get type through getter method
-        String getterMethodName = "get" + propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
-        try {
-            Method getterMethod = beanClass.getMethod(getterMethodName);
-            return getterMethod.getReturnType();
-        } catch (NoSuchMethodException e) {
-            // If no getter method, try boolean type isXxx method
-            if (propertyName.startsWith("is")) {
-                getterMethodName = propertyName;
-            } else {
-                getterMethodName = "is" + propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
-            }
-            
-            try {
-                Method isMethod = beanClass.getMethod(getterMethodName);
-                return isMethod.getReturnType();
-            } catch (NoSuchMethodException e1) {
-                // If no getter and isXxx methods, try to get type through setter method
-                String setterMethodName = "set" + propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
-                Method[] methods = beanClass.getMethods();
-                for (Method method : methods) {
-                    if (method.getName().equals(setterMethodName) && method.getParameterCount() == 1) {
-                        return method.getParameterTypes()[0];
-                    }
-                }
-                
-                // If no setter method, try to get field type directly
-                try {
-                    Field field = beanClass.getDeclaredField(propertyName);
-                    return field.getType();
-                } catch (NoSuchFieldException e2) {
-                    return null;
-                }
-            }
+        return PropertyAccessorMetadata.forClass(beanClass).getPropertyAccessor(propertyName).getPropertyType();
+    }
+    
+    /**
+     * Get type converter, created on first conversion
+     * 
+     * @return type converter
+     */
+    private TypeConverter getTypeConverter() {
+        if (this.typeConverter == null) {
+            this.typeConverter = new SimpleTypeConverter();
         }
+        return this.typeConverter;
     }
-} 
\ No newline at end of file
+}
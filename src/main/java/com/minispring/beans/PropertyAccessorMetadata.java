@@ -0,0 +1,227 @@
+package com.minispring.beans;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Property Accessor Metadata
+ * Per-class cache of resolved property accessors, shared by all BeanWrapper instances of a class
+ * Each property is resolved once to a getter handle, a setter handle and its type, following the
+ * same lookup order as before: getXxx, isXxx, setXxx, then the declared field
+ */
+final class PropertyAccessorMetadata {
+
+    private static final ClassValue<PropertyAccessorMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected PropertyAccessorMetadata computeValue(Class<?> type) {
+            return new PropertyAccessorMetadata(type);
+        }
+    };
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> beanClass;
+
+    /** Public no-arg methods by name, most specific return type wins */
+    private final Map<String, Method> readMethods = new HashMap<>();
+
+    /** Public single-arg methods by name, in getMethods() order */
+    private final Map<String, List<Method>> writeMethods = new HashMap<>();
+
+    /** Resolved property accessors by property name */
+    private final Map<String, PropertyAccessor> propertyAccessors = new ConcurrentHashMap<>();
+
+    private PropertyAccessorMetadata(Class<?> beanClass) {
+        this.beanClass = beanClass;
+        for (Method method : beanClass.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (method.getParameterCount() == 0 && method.getReturnType() != void.class) {
+                Method existing = this.readMethods.get(method.getName());
+                if (existing == null || existing.getReturnType().isAssignableFrom(method.getReturnType())) {
+                    this.readMethods.put(method.getName(), method);
+                }
+            } else if (method.getParameterCount() == 1) {
+                this.writeMethods.computeIfAbsent(method.getName(), name -> new ArrayList<>(1)).add(method);
+            }
+        }
+    }
+
+    /**
+     * Get metadata of a class
+     *
+     * @param beanClass bean class
+     * @return cached metadata
+     */
+    static PropertyAccessorMetadata forClass(Class<?> beanClass) {
+        return METADATA.get(beanClass);
+    }
+
+    /**
+     * Get accessor of a property, resolving it on first request
+     *
+     * @param propertyName property name
+     * @return property accessor, never null; its type is null if the property does not exist
+     */
+    PropertyAccessor getPropertyAccessor(String propertyName) {
+        PropertyAccessor accessor = this.propertyAccessors.get(propertyName);
+        if (accessor == null) {
+            accessor = this.propertyAccessors.computeIfAbsent(propertyName, this::resolvePropertyAccessor);
+        }
+        return accessor;
+    }
+
+    private PropertyAccessor resolvePropertyAccessor(String propertyName) {
+        String capitalized = propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
+        Field field = findDeclaredField(propertyName);
+
+        // Getter: getXxx, isXxx (or the name itself when it already starts with "is"), field
+        Method readMethod = this.readMethods.get("get" + capitalized);
+        if (readMethod == null) {
+            readMethod = this.readMethods.get(propertyName.startsWith("is") ? propertyName : "is" + capitalized);
+        }
+
+        // Type: getter return type, first setter parameter type, field type
+        List<Method> setterCandidates = this.writeMethods.get("set" + capitalized);
+        Class<?> propertyType = null;
+        if (readMethod != null) {
+            propertyType = readMethod.getReturnType();
+        } else if (setterCandidates != null) {
+            propertyType = setterCandidates.get(0).getParameterTypes()[0];
+        } else if (field != null) {
+            propertyType = field.getType();
+        }
+        if (propertyType == null) {
+            return new PropertyAccessor(propertyName, null, null, null);
+        }
+
+        // Setter: setXxx taking exactly the property type, field
+        Method writeMethod = null;
+        if (setterCandidates != null) {
+            for (Method candidate : setterCandidates) {
+                if (candidate.getParameterTypes()[0] == propertyType) {
+                    writeMethod = candidate;
+                    break;
+                }
+            }
+        }
+
+        MethodHandle getter = null;
+        MethodHandle setter = null;
+        try {
+            if (readMethod != null) {
+                getter = unreflect(readMethod);
+            } else if (field != null && field.trySetAccessible()) {
+                getter = MethodHandles.lookup().unreflectGetter(field);
+            }
+            if (writeMethod != null) {
+                setter = unreflect(writeMethod);
+            } else if (field != null && field.trySetAccessible()) {
+                setter = MethodHandles.lookup().unreflectSetter(field);
+            }
+        } catch (IllegalAccessException e) {
+            throw new BeansException("Cannot access property '" + propertyName + "' of " + this.beanClass.getName(), e);
+        }
+        return new PropertyAccessor(propertyName, propertyType,
+                getter != null ? getter.asType(GETTER_TYPE) : null,
+                setter != null ? setter.asType(SETTER_TYPE) : null);
+    }
+
+    private Field findDeclaredField(String propertyName) {
+        for (Field field : this.beanClass.getDeclaredFields()) {
+            if (field.getName().equals(propertyName) && !Modifier.isStatic(field.getModifiers())) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        // Public methods of non-public classes need the accessible flag
+        method.trySetAccessible();
+        return MethodHandles.lookup().unreflect(method);
+    }
+
+    /**
+     * Resolved accessor of a single property
+     */
+    static final class PropertyAccessor {
+
+        private final String propertyName;
+
+        private final Class<?> propertyType;
+
+        /** Property type with primitives boxed, used for instance checks */
+        private final Class<?> boxedPropertyType;
+
+        private final MethodHandle getter;
+
+        private final MethodHandle setter;
+
+        PropertyAccessor(String propertyName, Class<?> propertyType, MethodHandle getter, MethodHandle setter) {
+            this.propertyName = propertyName;
+            this.propertyType = propertyType;
+            this.boxedPropertyType = propertyType != null && propertyType.isPrimitive() ?
+                    MethodType.methodType(propertyType).wrap().returnType() : propertyType;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        /**
+         * Get property type
+         *
+         * @return property type, null if the property does not exist
+         */
+        Class<?> getPropertyType() {
+            return this.propertyType;
+        }
+
+        /**
+         * Check if value can be assigned without conversion
+         *
+         * @param value property value, not null
+         * @return whether value is an instance of the (boxed) property type
+         */
+        boolean isAssignableValue(Object value) {
+            return this.boxedPropertyType.isInstance(value);
+        }
+
+        /**
+         * Read property value
+         *
+         * @param bean target object
+         * @return property value
+         */
+        Object getValue(Object bean) throws Throwable {
+            if (this.getter == null) {
+                throw new BeansException("No readable property '" + this.propertyName + "' on " + bean.getClass().getName());
+            }
+            return (Object) this.getter.invokeExact(bean);
+        }
+
+        /**
+         * Write property value
+         *
+         * @param bean target object
+         * @param value converted property value
+         */
+        void setValue(Object bean, Object value) throws Throwable {
+            if (this.setter == null) {
+                throw new BeansException("No writable property '" + this.propertyName + "' on " + bean.getClass().getName());
+            }
+            this.setter.invokeExact(bean, value);
+        }
+    }
+}
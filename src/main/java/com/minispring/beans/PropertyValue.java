@@ -1,5 +1,12 @@
 package com.minispring.beans;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+
 /**
  * Bean Property Value
  * Stores Bean property name, original value and converted value
@@ -8,7 +15,15 @@ public class PropertyValue {
 
     private final String name;
     private final Object value;
-    private Object convertedValue;
+
+    /** Converted value with the type it was converted to, shared by all instances created from the definition */
+    private volatile ConvertedValue convertedValue;
+
+    /** Value types whose instances cannot be modified, safe to share between bean instances */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class, Class.class,
+            LocalDate.class, LocalTime.class, LocalDateTime.class);
 
     /**
      * Create a new PropertyValue instance
@@ -41,7 +56,8 @@ public class PropertyValue {
      * @return converted property value, returns null if not converted
      */
     public Object getConvertedValue() {
-        return convertedValue;
+        ConvertedValue converted = this.convertedValue;
+        return converted != null ? converted.value : null;
     }
     
     /**
@@ -49,6 +65,56 @@ public class PropertyValue {
      * @param convertedValue converted property value
      */
     public void setConvertedValue(Object convertedValue) {
-        this.convertedValue = convertedValue;
+        this.convertedValue = convertedValue != null ? new ConvertedValue(null, convertedValue) : null;
+    }
+
+    /**
+     * Get value converted for target type
+     * The converted value is keyed by target type, so a definition whose bean class changes
+     * (e.g. through a BeanFactoryPostProcessor) does not reuse a stale conversion
+     * @param targetType target property type
+     * @return converted value, returns null if not converted for this type
+     */
+    public Object getConvertedValue(Class<?> targetType) {
+        ConvertedValue converted = this.convertedValue;
+        return converted != null && converted.targetType == targetType ? converted.value : null;
+    }
+
+    /**
+     * Set value converted for target type
+     * Only immutable values are kept, mutable ones such as arrays, collections or dates would be
+     * shared between bean instances and are converted again for every instance
+     * @param targetType target property type
+     * @param convertedValue converted value
+     * @return whether the value was kept
+     */
+    public boolean setConvertedValue(Class<?> targetType, Object convertedValue) {
+        if (convertedValue == null
+                || !(convertedValue instanceof Enum || IMMUTABLE_TYPES.contains(convertedValue.getClass()))) {
+            return false;
+        }
+        this.convertedValue = new ConvertedValue(targetType, convertedValue);
+        return true;
+    }
+
+    /**
+     * Clear converted value, forcing conversion on next use
+     */
+    public void clearConvertedValue() {
+        this.convertedValue = null;
+    }
+
+    /**
+     * Converted value together with the type it was converted to
+     */
+    private static final class ConvertedValue {
+        /** Target type, null if set without one */
+        private final Class<?> targetType;
+        private final Object value;
+
+        ConvertedValue(Class<?> targetType, Object value) {
+            this.targetType = targetType;
+            this.value = value;
+        }
     }
-} 
\ No newline at end of file
+}
@@ -88,4 +88,14 @@ public class PropertyValues {
     public List<PropertyValue> getPropertyValueList() {
         return Collections.unmodifiableList(propertyValueList);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Clear values converted for target property types
+     * Called when the owning bean definition changes, so that conversions are computed again
+     */
+    public void clearConvertedValues() {
+        for (PropertyValue propertyValue : propertyValueList) {
+            propertyValue.clearConvertedValue();
+        }
+    }
+}
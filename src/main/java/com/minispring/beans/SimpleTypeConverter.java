@@ -22,6 +22,10 @@ public class SimpleTypeConverter implements TypeConverter {
     // Converter cache for performance
     private static final Map<Class<?>, Function<Object, Object>> CONVERTERS = new ConcurrentHashMap<>();
 
+    // Targets of number conversions, besides String
+    private static final Set<Class<?>> NUMBER_TYPES = Set.of(Integer.class, int.class, Long.class, long.class,
+            Double.class, double.class, Float.class, float.class, Byte.class, byte.class, Short.class, short.class);
+
     private final ConcurrentHashMap<String, Object> convertCache = new ConcurrentHashMap<>();
 
     // Initialize converter mappings
@@ -106,6 +110,20 @@ public class SimpleTypeConverter implements TypeConverter {
         }
     }
     
+    @Override
+    public boolean canConvert(Class<?> sourceType, Class<?> requiredType) {
+        if (requiredType.isAssignableFrom(sourceType) || requiredType == String.class) {
+            return true;
+        }
+        if (sourceType == String.class) {
+            return CONVERTERS.containsKey(requiredType);
+        }
+        if (Number.class.isAssignableFrom(sourceType)) {
+            return NUMBER_TYPES.contains(requiredType);
+        }
+        return false;
+    }
+    
     /**
      * Convert from string to target type
      */
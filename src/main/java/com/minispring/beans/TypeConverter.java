@@ -15,4 +15,15 @@ public interface TypeConverter {
      * @throws TypeMismatchException if conversion fails
      */
     <T> T convert(Object value, Class<T> requiredType) throws TypeMismatchException;
-}
\ No newline at end of file
+
+    /**
+     * Check if values of a type can be converted at all, without attempting a conversion
+     * Individual values may still fail to convert, e.g. unparsable strings
+     * @param sourceType value type
+     * @param requiredType target type
+     * @return false if conversion would always fail
+     */
+    default boolean canConvert(Class<?> sourceType, Class<?> requiredType) {
+        return true;
+    }
+}
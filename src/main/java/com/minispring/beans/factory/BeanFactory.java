@@ -50,4 +50,42 @@ public interface BeanFactory {
      * @return true if bean exists
      */
     boolean containsBean(String name);
-} 
\ No newline at end of file
+
+    /**
+     * Get bean if it exists, a missing bean is not treated as an error
+     * @param name bean name
+     * @return bean instance, null if no bean with the name exists
+     * @throws BeansException if the bean exists but cannot be created
+     */
+    default Object getBeanIfAvailable(String name) throws BeansException {
+        return containsBean(name) ? getBean(name) : null;
+    }
+
+    /**
+     * Get resolved handle to a bean for repeated lookups
+     * The default handle looks the bean up by name on every access and never becomes invalid
+     * @param name bean name
+     * @param <T> bean type
+     * @return bean handle
+     * @throws BeansException if the bean does not exist
+     */
+    default <T> BeanHandle<T> getBeanHandle(String name) throws BeansException {
+        if (!containsBean(name)) {
+            throw new BeansException("No bean named '" + name + "' available");
+        }
+        return new LookupBeanHandle<>(this, name);
+    }
+
+    /**
+     * Get resolved handle to the bean of a type for repeated lookups
+     * Requires a factory that can find bean names by type, the default implementation cannot
+     * @param requiredType bean type
+     * @param <T> bean type
+     * @return bean handle
+     * @throws BeansException if no unique bean of the type exists
+     */
+    default <T> BeanHandle<T> getBeanHandle(Class<T> requiredType) throws BeansException {
+        throw new BeansException("Bean factory " + getClass().getName() + " cannot resolve bean handles by type '"
+                + requiredType.getName() + "', obtain the handle by bean name");
+    }
+}
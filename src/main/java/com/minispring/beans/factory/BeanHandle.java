@@ -0,0 +1,37 @@
+package com.minispring.beans.factory;
+
+import com.minispring.beans.BeansException;
+
+/**
+ * Bean Handle Interface
+ * Resolved reference to a bean for repeated lookups on hot paths
+ * Singleton handles cache the instance, so each access is a single field read;
+ * prototype and scoped handles keep the resolved creation path of the bean
+ * A handle is invalidated when the singletons of its bean factory are destroyed,
+ * e.g. on context refresh or close, and a new one must then be obtained
+ * @param <T> bean type
+ */
+public interface BeanHandle<T> {
+
+    /**
+     * Get bean name
+     *
+     * @return bean name
+     */
+    String getBeanName();
+
+    /**
+     * Get bean instance
+     *
+     * @return bean instance, a new one per call for prototype beans
+     * @throws BeansException if the handle was invalidated or bean creation fails
+     */
+    T getBean() throws BeansException;
+
+    /**
+     * Check if the handle is still valid
+     *
+     * @return false once the bean factory singletons were destroyed
+     */
+    boolean isValid();
+}
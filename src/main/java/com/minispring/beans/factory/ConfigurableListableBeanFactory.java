@@ -4,6 +4,7 @@ import com.minispring.beans.BeansException;
 import com.minispring.beans.factory.config.BeanDefinition;
 import com.minispring.beans.factory.config.BeanPostProcessor;
 
+import java.util.Collection;
 import java.util.Set;
 
 /**
@@ -28,6 +29,28 @@ public interface ConfigurableListableBeanFactory extends ListableBeanFactory, Au
      */
     void preInstantiateSingletons() throws BeansException;
     
+    /**
+     * Pre-instantiate the given singleton beans only, in the given order
+     * Names that are not eager singleton definitions are skipped, all other beans are created on demand
+     * 
+     * @param beanNames names of beans to create
+     * @throws BeansException if an error occurs during initialization
+     */
+    void preInstantiateSingletons(Collection<String> beanNames) throws BeansException;
+    
+    /**
+     * Freeze all bean definitions
+     * Registered bean definitions will not be modified or registered any further
+     */
+    void freezeConfiguration();
+    
+    /**
+     * Check if bean definitions are frozen
+     * 
+     * @return true if configuration is frozen
+     */
+    boolean isConfigurationFrozen();
+    
     /**
      * Get all bean definition names
      * @return array of bean definition names
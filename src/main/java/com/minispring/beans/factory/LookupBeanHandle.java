@@ -0,0 +1,41 @@
+package com.minispring.beans.factory;
+
+import com.minispring.beans.BeansException;
+
+/**
+ * Lookup Bean Handle
+ * Default bean handle, looks the bean up by name on every access
+ * @param <T> bean type
+ */
+final class LookupBeanHandle<T> implements BeanHandle<T> {
+
+    private final BeanFactory beanFactory;
+
+    private final String beanName;
+
+    LookupBeanHandle(BeanFactory beanFactory, String beanName) {
+        this.beanFactory = beanFactory;
+        this.beanName = beanName;
+    }
+
+    @Override
+    public String getBeanName() {
+        return this.beanName;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getBean() throws BeansException {
+        return (T) this.beanFactory.getBean(this.beanName);
+    }
+
+    @Override
+    public boolean isValid() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanHandle for bean '" + this.beanName + "'";
+    }
+}
@@ -0,0 +1,46 @@
+package com.minispring.beans.factory;
+
+import com.minispring.beans.BeansException;
+
+import java.util.stream.Stream;
+
+/**
+ * Object Provider Interface
+ * Injectable handle to a bean, typically a prototype, obtained on demand
+ * Lets singletons get fresh instances without holding the BeanFactory
+ * @param <T> bean type
+ */
+public interface ObjectProvider<T> extends ObjectFactory<T> {
+
+    /**
+     * Get bean instance, a new one per call for prototype beans
+     *
+     * @return bean instance
+     * @throws BeansException if the bean does not exist or its creation fails
+     */
+    T get() throws BeansException;
+
+    /**
+     * Get bean instance if the bean is defined
+     *
+     * @return bean instance, null if the bean does not exist
+     * @throws BeansException if bean creation fails
+     */
+    T getIfAvailable() throws BeansException;
+
+    /**
+     * Get bean instance as stream
+     *
+     * @return stream with the bean instance, empty if the bean does not exist
+     * @throws BeansException if bean creation fails
+     */
+    default Stream<T> stream() throws BeansException {
+        T bean = getIfAvailable();
+        return bean != null ? Stream.of(bean) : Stream.empty();
+    }
+
+    @Override
+    default T getObject() throws BeansException {
+        return get();
+    }
+}
@@ -0,0 +1,26 @@
+package com.minispring.beans.factory.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Autowired
+ * Marks a field or method to be injected with matching beans after instantiation
+ * Dependencies are resolved by name first, then by type, like constructor parameters
+ * Methods may take any number of parameters, each one resolved as a dependency
+ */
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Autowired {
+
+    /**
+     * Whether the dependency is required
+     * Optional fields are left untouched and optional methods are not invoked when a dependency is missing
+     * @return whether the dependency is required
+     */
+    boolean required() default true;
+}
@@ -4,6 +4,7 @@ import com.minispring.beans.PropertyValues;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Bean Definition
@@ -13,11 +14,20 @@ public class BeanDefinition {
 
     private Class<?> beanClass;
     private PropertyValues propertyValues;
+    
+    // Callback creating the bean instance instead of constructor resolution
+    private Supplier<?> instanceSupplier;
     private String initMethodName;
     private String destroyMethodName;
     private boolean singleton = true;
     private boolean prototype = false;
     
+    // Whether singleton creation is deferred to the first getBean call
+    private boolean lazyInit = false;
+    
+    // Whether init callbacks run on an executor during singleton pre-instantiation
+    private boolean asyncInit = false;
+    
     // Scope
     private String scope = SCOPE_SINGLETON;
     
@@ -49,6 +59,24 @@ public class BeanDefinition {
 
     public void setBeanClass(Class<?> beanClass) {
         this.beanClass = beanClass;
+        this.propertyValues.clearConvertedValues();
+    }
+
+    /**
+     * Set callback creating the bean instance
+     * Bypasses constructor resolution and the instantiation strategy when no explicit arguments are given
+     * @param instanceSupplier instance supplier, null for reflective instantiation
+     */
+    public void setInstanceSupplier(Supplier<?> instanceSupplier) {
+        this.instanceSupplier = instanceSupplier;
+    }
+    
+    /**
+     * Get callback creating the bean instance
+     * @return instance supplier, null if the bean is instantiated reflectively
+     */
+    public Supplier<?> getInstanceSupplier() {
+        return this.instanceSupplier;
     }
 
     public PropertyValues getPropertyValues() {
@@ -125,6 +153,40 @@ public class BeanDefinition {
         return this.scopedProxy;
     }
     
+    /**
+     * Set whether singleton is created lazily, on first getBean instead of during pre-instantiation
+     * @param lazyInit whether lazy
+     */
+    public void setLazyInit(boolean lazyInit) {
+        this.lazyInit = lazyInit;
+    }
+    
+    /**
+     * Check if singleton is created lazily
+     * @return true if lazy
+     */
+    public boolean isLazyInit() {
+        return this.lazyInit;
+    }
+    
+    /**
+     * Set whether afterPropertiesSet, the init method and the post-processing after initialization run asynchronously
+     * while singletons are pre-instantiated
+     * Every lookup of this bean waits for its initialization, refresh completes once all of them finished
+     * @param asyncInit whether to initialize asynchronously
+     */
+    public void setAsyncInit(boolean asyncInit) {
+        this.asyncInit = asyncInit;
+    }
+    
+    /**
+     * Check if init callbacks run asynchronously
+     * @return true if asynchronous
+     */
+    public boolean isAsyncInit() {
+        return this.asyncInit;
+    }
+    
     /**
      * Set custom attribute
      * @param name attribute name
@@ -151,4 +213,4 @@ public class BeanDefinition {
     public boolean hasAttribute(String name) {
         return this.attributes.containsKey(name);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.minispring.beans.factory.config;
+
+/**
+ * Bean Definition Customizer
+ * Callback for adjusting a bean definition registered programmatically, e.g. scope or init method
+ */
+@FunctionalInterface
+public interface BeanDefinitionCustomizer {
+
+    /**
+     * Customize the bean definition before it is registered
+     * @param beanDefinition bean definition
+     */
+    void customize(BeanDefinition beanDefinition);
+}
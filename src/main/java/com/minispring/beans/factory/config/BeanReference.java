@@ -9,13 +9,26 @@ public class BeanReference {
 
     private final String beanName;
 
+    private final boolean lazy;
+
     /**
      * Create a Bean reference
      * 
      * @param beanName name of the referenced bean
      */
     public BeanReference(String beanName) {
+        this(beanName, false);
+    }
+
+    /**
+     * Create a Bean reference
+     * 
+     * @param beanName name of the referenced bean
+     * @param lazy whether to inject a proxy resolving the bean on first method call
+     */
+    public BeanReference(String beanName, boolean lazy) {
         this.beanName = beanName;
+        this.lazy = lazy;
     }
 
     /**
@@ -27,8 +40,17 @@ public class BeanReference {
         return this.beanName;
     }
     
+    /**
+     * Check if the reference is resolved lazily
+     * 
+     * @return true if a lazy-resolution proxy is injected instead of the bean
+     */
+    public boolean isLazy() {
+        return this.lazy;
+    }
+    
     @Override
     public String toString() {
-        return "Reference to Bean[" + this.beanName + "]";
+        return (this.lazy ? "Lazy reference" : "Reference") + " to Bean[" + this.beanName + "]";
     }
 } 
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.minispring.beans.factory.config;
 
 import com.minispring.beans.BeansException;
 import com.minispring.beans.factory.ObjectFactory;
+import com.minispring.core.trace.ContainerTrace;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -57,7 +58,7 @@ public class PrototypeScope implements Scope {
                     callback.run();
                 }
                 catch (Throwable ex) {
-                    System.err.println("Exception thrown while executing destruction callback for prototype [" + name + "]: " + ex);
+                    ContainerTrace.error(PrototypeScope.class, "Exception thrown while executing destruction callback for prototype [" + name + "]", ex);
                 }
             }
         }
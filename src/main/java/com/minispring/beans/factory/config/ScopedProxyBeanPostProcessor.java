@@ -8,7 +8,7 @@ import com.minispring.beans.factory.ConfigurableListableBeanFactory;
  * Scoped Proxy Bean Post Processor
  * Used to create proxies for beans that require scope proxying
  */
-public class ScopedProxyBeanPostProcessor implements BeanPostProcessor {
+public class ScopedProxyBeanPostProcessor implements SelectiveBeanPostProcessor {
     
     // The owning bean factory
     private final ConfigurableBeanFactory beanFactory;
@@ -17,6 +17,21 @@ public class ScopedProxyBeanPostProcessor implements BeanPostProcessor {
         this.beanFactory = beanFactory;
     }
     
+    /**
+     * Only definitions requesting a scoped proxy for a custom scope are processed
+     * @param beanDefinition bean definition
+     * @return whether a scoped proxy may be created
+     */
+    @Override
+    public boolean appliesTo(BeanDefinition beanDefinition) {
+        return beanDefinition.isScopedProxy() && needsScopedProxy(beanDefinition.getScope());
+    }
+    
+    @Override
+    public boolean hasBeforeInitialization() {
+        return false;
+    }
+    
     @Override
     public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
         // Check if bean definition exists
@@ -39,8 +54,7 @@ public class ScopedProxyBeanPostProcessor implements BeanPostProcessor {
         
         // Get scope name
         String scopeName = beanDefinition.getScope();
-        if (scopeName == null || scopeName.equals(ConfigurableBeanFactory.SCOPE_SINGLETON) 
-                || scopeName.equals(ConfigurableBeanFactory.SCOPE_PROTOTYPE)) {
+        if (!needsScopedProxy(scopeName)) {
             // Singleton and prototype scopes don't need proxying
             return bean;
         }
@@ -48,4 +62,9 @@ public class ScopedProxyBeanPostProcessor implements BeanPostProcessor {
         // Create scoped proxy
         return ScopedProxyFactory.createScopedProxy(bean, beanName, scopeName, (ConfigurableBeanFactory)beanFactory);
     }
-} 
\ No newline at end of file
+    
+    private static boolean needsScopedProxy(String scopeName) {
+        return scopeName != null && !scopeName.equals(ConfigurableBeanFactory.SCOPE_SINGLETON)
+                && !scopeName.equals(ConfigurableBeanFactory.SCOPE_PROTOTYPE);
+    }
+}
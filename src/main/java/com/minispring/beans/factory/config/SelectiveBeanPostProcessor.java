@@ -0,0 +1,35 @@
+package com.minispring.beans.factory.config;
+
+/**
+ * Selective bean post-processor interface
+ * Lets a post-processor declare which bean definitions it applies to and which callbacks it implements,
+ * so the bean factory can leave it out of the pipeline of unrelated beans
+ * Decisions are taken once per bean definition and cached, so they must only depend on the definition
+ */
+public interface SelectiveBeanPostProcessor extends BeanPostProcessor {
+
+    /**
+     * Check if this post-processor applies to beans of a definition
+     * @param beanDefinition bean definition
+     * @return true if the callbacks must be invoked for beans of this definition
+     */
+    default boolean appliesTo(BeanDefinition beanDefinition) {
+        return true;
+    }
+
+    /**
+     * Check if postProcessBeforeInitialization does anything
+     * @return false if the callback always returns the bean unchanged
+     */
+    default boolean hasBeforeInitialization() {
+        return true;
+    }
+
+    /**
+     * Check if postProcessAfterInitialization does anything
+     * @return false if the callback always returns the bean unchanged
+     */
+    default boolean hasAfterInitialization() {
+        return true;
+    }
+}
@@ -2,6 +2,7 @@ package com.minispring.beans.factory.config;
 
 import com.minispring.beans.BeansException;
 import com.minispring.beans.factory.ObjectFactory;
+import com.minispring.core.trace.ContainerTrace;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -64,7 +65,7 @@ public class SingletonScope implements Scope {
                     callback.run();
                 }
                 catch (Throwable ex) {
-                    System.err.println("Exception thrown while executing destruction callback for singleton [" + name + "]: " + ex);
+                    ContainerTrace.error(SingletonScope.class, "Exception thrown while executing destruction callback for singleton [" + name + "]", ex);
                 }
             }
         }
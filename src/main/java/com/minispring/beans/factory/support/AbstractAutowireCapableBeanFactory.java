@@ -4,24 +4,32 @@ import com.minispring.beans.BeansException;
 import com.minispring.beans.BeanWrapper;
 import com.minispring.beans.PropertyValue;
 import com.minispring.beans.PropertyValues;
-import com.minispring.beans.SimpleTypeConverter;
-import com.minispring.beans.TypeConverter;
 import com.minispring.beans.TypeMismatchException;
 import com.minispring.beans.factory.BeanFactoryAware;
+import com.minispring.beans.factory.BeanHandle;
 import com.minispring.beans.factory.BeanNameAware;
 import com.minispring.beans.factory.DisposableBean;
 import com.minispring.beans.factory.InitializingBean;
+import com.minispring.beans.factory.ObjectProvider;
 import com.minispring.beans.factory.config.BeanDefinition;
 import com.minispring.beans.factory.config.BeanPostProcessor;
 import com.minispring.beans.factory.config.BeanReference;
 import com.minispring.beans.factory.support.ConstructorResolver.BeanInstantiationContext;
+import com.minispring.core.jfr.BeanCreationEvent;
+import com.minispring.core.trace.ContainerTrace;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 /**
  * Abstract Autowire Capable Bean Factory
@@ -29,7 +37,26 @@ import java.util.Optional;
  */
 public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFactory {
 
-    private InstantiationStrategy instantiationStrategy = new CglibSubclassingInstantiationStrategy();
+    /** Instantiation strategy, compiled constructor handles with CGLIB subclassing only where a subclass is required */
+    private InstantiationStrategy instantiationStrategy = new MethodHandleInstantiationStrategy();
+
+    /** Constructor resolver, shared by all bean creations of this factory */
+    private final ConstructorResolver constructorResolver = new ConstructorResolver(this);
+
+    /** Bean creation phase metrics, null when disabled */
+    private volatile BeanCreationMetrics beanCreationMetrics;
+
+    /** Bean handles by bean name */
+    private final Map<String, DefaultBeanHandle<?>> beanHandles = new ConcurrentHashMap<>(16);
+
+    /** Executor for asynchronous init callbacks, null for the common ForkJoinPool */
+    private volatile Executor asyncInitExecutor;
+
+    /** Whether async-init definitions are initialized asynchronously, only while pre-instantiating singletons */
+    private volatile boolean asyncInitActive;
+
+    /** Pending or failed asynchronous initializations by bean name */
+    private final Map<String, AsyncInitialization> asyncInitializations = new ConcurrentHashMap<>(16);
 
     /**
      * Set instantiation strategy
@@ -47,6 +74,30 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         return this.instantiationStrategy;
     }
 
+    /**
+     * Set bean creation metrics, recording duration and allocations of each creation phase
+     * @param beanCreationMetrics metrics, null to disable recording
+     */
+    public void setBeanCreationMetrics(BeanCreationMetrics beanCreationMetrics) {
+        this.beanCreationMetrics = beanCreationMetrics;
+    }
+
+    /**
+     * Get bean creation metrics
+     * @return metrics, null if recording is disabled
+     */
+    public BeanCreationMetrics getBeanCreationMetrics() {
+        return this.beanCreationMetrics;
+    }
+
+    /**
+     * Get constructor resolver, also used to predict dependencies without creating beans
+     * @return constructor resolver
+     */
+    ConstructorResolver getConstructorResolver() {
+        return this.constructorResolver;
+    }
+
     /**
      * Create bean instance
      * @param beanName bean name
@@ -58,38 +109,66 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
     @Override
     protected Object createBean(String beanName, BeanDefinition beanDefinition, Object[] args) throws BeansException {
         Object bean = null;
+        BeanCreationMetrics metrics = this.beanCreationMetrics;
+        BeanCreationMetrics.Recorder recorder = metrics != null ? metrics.start(beanName) : null;
+        BeanCreationEvent creationEvent = BeanCreationEvent.beginIfEnabled();
         try {
             // Create bean instance
-            bean = createBeanInstance(beanDefinition, beanName, args);
+            bean = createBeanInstance(beanDefinition, beanName, args, recorder);
+            if (creationEvent != null) {
+                creationEvent.instantiated();
+            }
             
             // Handle circular dependency, expose instantiated bean to third-level cache
             // Only singleton beans that allow circular dependency will be exposed early
             if (beanDefinition.isSingleton()) {
                 final Object finalBean = bean;
                 addSingletonFactory(beanName, () -> getEarlyBeanReference(beanName, beanDefinition, finalBean));
-                System.out.println("Exposing bean [" + beanName + "] to third-level cache");
+                ContainerTrace.trace(AbstractAutowireCapableBeanFactory.class, "Exposing bean [{}] to third-level cache", beanName);
             }
             
             // Create bean wrapper
             BeanWrapper beanWrapper = new BeanWrapper(bean);
             
-            // Populate bean properties
+            // Inject annotated fields and methods, then populate bean properties
+            injectAutowiredMembers(beanName, bean);
             applyPropertyValues(beanName, bean, beanDefinition, beanWrapper);
+            if (recorder != null) {
+                recorder.mark(BeanCreationMetrics.Phase.PROPERTY_POPULATION, null);
+            }
+            if (creationEvent != null) {
+                creationEvent.populated();
+            }
             
             // Execute bean initialization methods and BeanPostProcessor pre/post processing
-            bean = initializeBean(beanName, bean, beanDefinition);
+            bean = initializeBean(beanName, bean, beanDefinition, recorder);
+            if (creationEvent != null) {
+                creationEvent.initialized();
+            }
         } catch (Exception e) {
             throw new BeansException("Failed to create bean: " + beanName, e);
+        } finally {
+            if (recorder != null) {
+                recorder.finish();
+            }
+            if (creationEvent != null) {
+                creationEvent.commit(beanName, beanDefinition.getScope());
+            }
         }
         
-        // Register destroy method callback
-        registerDisposableBeanIfNecessary(beanName, bean, beanDefinition);
-        
-        // Register singleton bean
-        if (beanDefinition.isSingleton()) {
-            // After handling FactoryBean and circular dependency, finally add to singleton cache
-            // If this bean was exposed early (i.e., circular dependency was resolved), this step will clear the factory object from third-level cache
-            registerSingleton(beanName, bean);
+        try {
+            // Register destroy method callback
+            registerDisposableBeanIfNecessary(beanName, bean, beanDefinition);
+            
+            // Register singleton bean
+            if (beanDefinition.isSingleton()) {
+                // After handling FactoryBean and circular dependency, finally add to singleton cache
+                // If this bean was exposed early (i.e., circular dependency was resolved), this step will clear the factory object from third-level cache
+                registerSingleton(beanName, bean);
+            }
+        } catch (RuntimeException e) {
+            discardAsyncInitialization(beanName, e);
+            throw e;
         }
         
         return bean;
@@ -103,21 +182,93 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      * @return bean instance
      */
     protected Object createBeanInstance(BeanDefinition beanDefinition, String beanName, Object[] args) {
-        System.out.println("Creating bean instance: " + beanName + ", constructor args: " + (args != null ? args.length : 0));
-        
-        // Get all constructors
-        Constructor<?>[] declaredConstructors = beanDefinition.getBeanClass().getDeclaredConstructors();
+        return createBeanInstance(beanDefinition, beanName, args, null);
+    }
+
+    private Object createBeanInstance(BeanDefinition beanDefinition, String beanName, Object[] args,
+                                      BeanCreationMetrics.Recorder recorder) {
+        if (ContainerTrace.isEnabled(AbstractAutowireCapableBeanFactory.class)) {
+            ContainerTrace.trace(AbstractAutowireCapableBeanFactory.class, "Creating bean instance: {}, constructor args: {}", beanName, (args != null ? args.length : 0));
+        }
         
-        // Create constructor resolver
-        ConstructorResolver constructorResolver = new ConstructorResolver(this);
+        // Instance supplier replaces constructor resolution and the instantiation strategy
+        Supplier<?> instanceSupplier = beanDefinition.getInstanceSupplier();
+        if (instanceSupplier != null && args == null) {
+            Object bean = obtainFromSupplier(instanceSupplier, beanName);
+            if (recorder != null) {
+                recorder.mark(BeanCreationMetrics.Phase.INSTANTIATION, null);
+            }
+            return bean;
+        }
         
-        // Resolve constructor and arguments
-        BeanInstantiationContext instantiationContext = constructorResolver.autowireConstructor(
-                beanName, beanDefinition, declaredConstructors, args);
+        // Resolve constructor and arguments, reusing the plan cached for the bean definition
+        BeanInstantiationContext instantiationContext = this.constructorResolver.resolveConstructor(
+                beanName, beanDefinition, args);
+        if (recorder != null) {
+            recorder.mark(BeanCreationMetrics.Phase.CONSTRUCTOR_RESOLUTION, null);
+        }
         
         // Use instantiation strategy to create bean instance
-        return getInstantiationStrategy().instantiate(
+        Object bean = getInstantiationStrategy().instantiate(
                 beanDefinition, beanName, instantiationContext.getConstructor(), instantiationContext.getArgs());
+        if (recorder != null) {
+            recorder.mark(BeanCreationMetrics.Phase.INSTANTIATION, null);
+        }
+        return bean;
+    }
+
+    private Object obtainFromSupplier(Supplier<?> instanceSupplier, String beanName) {
+        Object bean;
+        try {
+            bean = instanceSupplier.get();
+        } catch (BeansException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BeansException("Instance supplier of bean '" + beanName + "' failed", e);
+        }
+        if (bean == null) {
+            throw new BeansException("Instance supplier of bean '" + beanName + "' returned null");
+        }
+        return bean;
+    }
+
+    /**
+     * Inject fields and methods annotated with Autowired
+     * Injection points are discovered once per class and cached
+     * @param beanName bean name
+     * @param bean bean instance
+     * @throws BeansException if a required dependency cannot be resolved
+     */
+    protected void injectAutowiredMembers(String beanName, Object bean) throws BeansException {
+        InjectionMetadata metadata = InjectionMetadata.forClass(bean.getClass());
+        if (!metadata.isEmpty()) {
+            metadata.inject(bean, beanName, this.constructorResolver);
+        }
+    }
+
+    /**
+     * Get version of the bean definition registry
+     * Changes whenever bean definitions are registered, invalidating cached constructor plans
+     * @return registry version
+     */
+    protected int getBeanDefinitionRegistryVersion() {
+        return 0;
+    }
+
+    /**
+     * Notify that a bean is requested, for lookups that bypass doGetBean
+     * @param beanName bean name
+     */
+    protected void beanRequested(String beanName) {
+    }
+
+    /**
+     * Check if lookups of a bean are delegated to a parent factory
+     * @param beanName bean name
+     * @return true if the bean is obtained from the parent factory
+     */
+    protected boolean isDelegatedToParent(String beanName) {
+        return false;
     }
 
     /**
@@ -134,17 +285,25 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
                 return;
             }
             
-            // Create type converter
-            TypeConverter typeConverter = new SimpleTypeConverter();
-            
-            for (PropertyValue propertyValue : propertyValues.getPropertyValues()) {
+            for (PropertyValue propertyValue : propertyValues.getPropertyValueList()) {
                 String name = propertyValue.getName();
                 Object value = propertyValue.getValue();
                 
                 // Handle bean reference
                 if (value instanceof BeanReference) {
                     BeanReference beanReference = (BeanReference) value;
-                    value = getBean(beanReference.getBeanName());
+                    value = resolveBeanReference(beanName, beanReference, name, beanWrapper);
+                } else if (value instanceof String) {
+                    // Literal value: convert once per definition and target type, reuse immutable results for later instances
+                    Class<?> propertyType = beanWrapper.getPropertyType(name);
+                    if (propertyType != null) {
+                        Object convertedValue = propertyValue.getConvertedValue(propertyType);
+                        if (convertedValue == null) {
+                            convertedValue = beanWrapper.convertIfNecessary(value, propertyType);
+                            propertyValue.setConvertedValue(propertyType, convertedValue);
+                        }
+                        value = convertedValue;
+                    }
                 }
                 
                 // Use BeanWrapper to set property value
@@ -155,14 +314,98 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         }
     }
 
+    /**
+     * Get provider for a bean
+     * The provider resolves the bean definition once per registry version, prototypes are then created
+     * without name lookup
+     * @param beanName bean name
+     * @param <T> bean type
+     * @return object provider
+     */
+    public <T> ObjectProvider<T> getBeanProvider(String beanName) {
+        return new BeanObjectProvider<>(this, beanName);
+    }
+
+    /**
+     * Get resolved handle to a bean
+     * Handles are shared per bean name and invalidated when singletons are destroyed
+     * @param beanName bean name
+     * @param <T> bean type
+     * @return bean handle
+     * @throws BeansException if the bean does not exist
+     */
+    @Override
+    public <T> BeanHandle<T> getBeanHandle(String beanName) throws BeansException {
+        DefaultBeanHandle<?> handle = this.beanHandles.get(beanName);
+        if (handle == null) {
+            if (!containsBean(beanName)) {
+                throw new BeansException("No bean named '" + beanName + "' available");
+            }
+            handle = this.beanHandles.computeIfAbsent(beanName, name -> new DefaultBeanHandle<>(this, name));
+        }
+        // Handles are shared per bean name, the caller states the bean type
+        @SuppressWarnings("unchecked")
+        BeanHandle<T> typedHandle = (BeanHandle<T>) handle;
+        return typedHandle;
+    }
+
+    @Override
+    public void destroySingletons() {
+        try {
+            super.destroySingletons();
+        } finally {
+            for (DefaultBeanHandle<?> handle : this.beanHandles.values()) {
+                handle.invalidate();
+            }
+            this.beanHandles.clear();
+            for (AsyncInitialization initialization : this.asyncInitializations.values()) {
+                initialization.future.completeExceptionally(
+                        new BeansException("Singletons were destroyed before the asynchronous initialization completed"));
+            }
+            this.asyncInitializations.clear();
+        }
+    }
+
+    /**
+     * Resolve bean reference for a property
+     * ObjectProvider properties get a provider for the referenced bean
+     * Lazy references to simple properties get a proxy that resolves the bean on first method call,
+     * unless the bean already exists
+     * @param beanName name of the bean whose property is populated
+     * @param beanReference bean reference
+     * @param propertyName property name
+     * @param beanWrapper bean wrapper
+     * @return referenced bean or lazy-resolution proxy
+     */
+    protected Object resolveBeanReference(String beanName, BeanReference beanReference, String propertyName,
+                                          BeanWrapper beanWrapper) {
+        String referencedBeanName = beanReference.getBeanName();
+        if (beanWrapper.getPropertyType(propertyName) == ObjectProvider.class) {
+            return getBeanProvider(referencedBeanName);
+        }
+        if (beanReference.isLazy()) {
+            Object existingBean = getSingleton(referencedBeanName);
+            Class<?> propertyType = beanWrapper.getPropertyType(propertyName);
+            if (existingBean == null && propertyType != null && propertyType != Object.class) {
+                ContainerTrace.trace(AbstractAutowireCapableBeanFactory.class, "Injecting lazy-resolution proxy for bean [{}]", referencedBeanName);
+                return LazyResolutionProxy.create(this, referencedBeanName, propertyType);
+            }
+        }
+        Object referencedBean = getBean(referencedBeanName);
+        registerDependentBean(referencedBeanName, beanName);
+        return referencedBean;
+    }
+
     /**
      * Initialize bean
      * @param beanName bean name
      * @param bean bean instance
      * @param beanDefinition bean definition
+     * @param recorder creation metrics recorder, null if not recording
      * @return initialized bean instance
      */
-    private Object initializeBean(String beanName, Object bean, BeanDefinition beanDefinition) {
+    private Object initializeBean(String beanName, Object bean, BeanDefinition beanDefinition,
+                                  BeanCreationMetrics.Recorder recorder) {
         // 0. Handle Aware interfaces
         if (bean instanceof BeanNameAware) {
             ((BeanNameAware) bean).setBeanName(beanName);
@@ -171,23 +414,212 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         if (bean instanceof BeanFactoryAware) {
             ((BeanFactoryAware) bean).setBeanFactory(this);
         }
+        if (recorder != null) {
+            recorder.mark(BeanCreationMetrics.Phase.AWARE_CALLBACKS, null);
+        }
         
         // 1. Execute BeanPostProcessor pre-processing
-        Object wrappedBean = applyBeanPostProcessorsBeforeInitialization(bean, beanName);
+        BeanPostProcessorPipeline pipeline = BeanPostProcessorPipeline.forDefinition(this, beanDefinition);
+        Object wrappedBean = applyBeanPostProcessorsBeforeInitialization(
+                bean, beanName, pipeline.getBeforeInitialization(), recorder);
         
-        // 2. Execute initialization method
+        // 2. Execute initialization method, on the async init executor if requested
+        // Post-processing then runs after the init callbacks on the same executor
+        if (this.asyncInitActive && beanDefinition.isAsyncInit() && beanDefinition.isSingleton()
+                && hasInitMethods(wrappedBean, beanDefinition)) {
+            scheduleAsyncInitialization(beanName, wrappedBean, beanDefinition, pipeline);
+            return wrappedBean;
+        }
         try {
             invokeInitMethods(beanName, wrappedBean, beanDefinition);
         } catch (Exception e) {
             throw new BeansException("Failed to execute bean initialization method: " + beanName, e);
         }
+        if (recorder != null) {
+            recorder.mark(BeanCreationMetrics.Phase.INIT_METHODS, null);
+        }
         
         // 3. Execute BeanPostProcessor post-processing
-        wrappedBean = applyBeanPostProcessorsAfterInitialization(wrappedBean, beanName);
+        wrappedBean = applyBeanPostProcessorsAfterInitialization(
+                wrappedBean, beanName, pipeline.getAfterInitialization(), recorder);
         
         return wrappedBean;
     }
 
+    private boolean hasInitMethods(Object bean, BeanDefinition beanDefinition) {
+        String initMethodName = beanDefinition.getInitMethodName();
+        return bean instanceof InitializingBean || (initMethodName != null && !initMethodName.isEmpty());
+    }
+
+    /**
+     * Prepare asynchronous initialization of a singleton
+     * The init callbacks and after-initialization post-processors run on the async init executor once the
+     * singleton is registered; until then every lookup of the bean waits for them
+     * @param beanName bean name
+     * @param bean bean instance, already pre-processed
+     * @param beanDefinition bean definition
+     * @param pipeline post-processor pipeline of the definition
+     */
+    private void scheduleAsyncInitialization(String beanName, Object bean, BeanDefinition beanDefinition,
+                                             BeanPostProcessorPipeline pipeline) {
+        AsyncInitialization initialization = new AsyncInitialization();
+        initialization.task = () -> {
+            initialization.runner = Thread.currentThread();
+            try {
+                invokeInitMethods(beanName, bean, beanDefinition);
+                Object exposedBean = applyBeanPostProcessorsAfterInitialization(
+                        bean, beanName, pipeline.getAfterInitialization(), null);
+                if (exposedBean != bean) {
+                    replaceSingleton(beanName, exposedBean);
+                }
+                this.asyncInitializations.remove(beanName, initialization);
+                initialization.future.complete(exposedBean);
+            } catch (Throwable e) {
+                initialization.future.completeExceptionally(
+                        new BeansException("Failed to execute bean initialization method: " + beanName, e));
+            } finally {
+                initialization.runner = null;
+            }
+        };
+        this.asyncInitializations.put(beanName, initialization);
+    }
+
+    /**
+     * Register singleton, starting its asynchronous initialization if one is scheduled
+     * @param beanName bean name
+     * @param singletonObject singleton bean
+     */
+    @Override
+    protected void addSingleton(String beanName, Object singletonObject) {
+        super.addSingleton(beanName, singletonObject);
+        if (this.asyncInitializations.isEmpty()) {
+            return;
+        }
+        AsyncInitialization initialization = this.asyncInitializations.get(beanName);
+        if (initialization != null && initialization.task != null) {
+            Runnable task = initialization.task;
+            initialization.task = null;
+            Executor executor = this.asyncInitExecutor != null ? this.asyncInitExecutor : ForkJoinPool.commonPool();
+            ContainerTrace.trace(AbstractAutowireCapableBeanFactory.class, "Initializing bean [{}] asynchronously", beanName);
+            try {
+                executor.execute(task);
+            } catch (RuntimeException e) {
+                initialization.future.completeExceptionally(
+                        new BeansException("Failed to start asynchronous initialization of bean: " + beanName, e));
+            }
+        }
+    }
+
+    private void discardAsyncInitialization(String beanName, Throwable cause) {
+        AsyncInitialization initialization = this.asyncInitializations.remove(beanName);
+        if (initialization != null) {
+            initialization.future.completeExceptionally(
+                    new BeansException("Creation of bean failed before its initialization: " + beanName, cause));
+        }
+    }
+
+    /**
+     * Set executor for asynchronous init callbacks
+     * @param asyncInitExecutor executor, null for the common ForkJoinPool
+     */
+    public void setAsyncInitExecutor(Executor asyncInitExecutor) {
+        this.asyncInitExecutor = asyncInitExecutor;
+    }
+
+    /**
+     * Set whether async-init definitions are initialized asynchronously
+     * Enabled by the bean factory while it pre-instantiates singletons
+     * @param asyncInitActive whether async init is active
+     */
+    protected void setAsyncInitActive(boolean asyncInitActive) {
+        this.asyncInitActive = asyncInitActive;
+    }
+
+    /**
+     * Get singleton bean, waiting for its asynchronous initialization if still pending
+     * Returns immediately on the thread running the init
+     * @param beanName bean name
+     * @return initialized singleton bean, null if not found
+     * @throws BeansException if the initialization failed
+     */
+    @Override
+    public Object getSingleton(String beanName) throws BeansException {
+        return awaitInitialization(beanName, super.getSingleton(beanName));
+    }
+
+    /**
+     * Get bean, waiting for its asynchronous initialization if still pending
+     * @param name bean name
+     * @param requiredType required bean type
+     * @param args constructor arguments
+     * @param <T> bean type
+     * @return initialized bean instance
+     * @throws BeansException if bean retrieval or the initialization fails
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> T doGetBean(String name, Class<T> requiredType, Object[] args) throws BeansException {
+        return (T) awaitInitialization(name, super.doGetBean(name, requiredType, args));
+    }
+
+    /**
+     * Create a singleton while pre-instantiating
+     * Unlike getBean, returns without waiting for the asynchronous initialization of the bean itself
+     * @param beanName bean name
+     * @throws BeansException if creation fails
+     */
+    protected void preInstantiateSingleton(String beanName) throws BeansException {
+        super.doGetBean(beanName, null, null);
+    }
+
+    /**
+     * Wait for the asynchronous initialization of a bean, if still pending
+     * @param beanName bean name
+     * @param bean bean instance as currently registered
+     * @return bean exposed after initialization and post-processing, the given bean if nothing is pending
+     * @throws BeansException if the initialization failed
+     */
+    private Object awaitInitialization(String beanName, Object bean) throws BeansException {
+        if (bean == null || this.asyncInitializations.isEmpty()) {
+            return bean;
+        }
+        AsyncInitialization initialization = this.asyncInitializations.get(beanName);
+        if (initialization == null || initialization.runner == Thread.currentThread()) {
+            return bean;
+        }
+        return join(initialization);
+    }
+
+    /**
+     * Wait for all pending asynchronous initializations
+     * @throws BeansException if any initialization failed, further failures are attached as suppressed
+     */
+    public void awaitAsyncInitialization() throws BeansException {
+        BeansException failure = null;
+        for (AsyncInitialization initialization : this.asyncInitializations.values()) {
+            try {
+                join(initialization);
+            } catch (BeansException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static Object join(AsyncInitialization initialization) {
+        try {
+            return initialization.future.join();
+        } catch (CompletionException e) {
+            throw (BeansException) e.getCause();
+        }
+    }
+
     /**
      * Execute bean initialization methods
      * @param beanName bean name
@@ -199,7 +631,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         // 1. If bean implements InitializingBean interface, call its afterPropertiesSet method
         if (bean instanceof InitializingBean) {
             ((InitializingBean) bean).afterPropertiesSet();
-            System.out.println("Executing InitializingBean interface's afterPropertiesSet method for bean [" + beanName + "]");
+            ContainerTrace.trace(AbstractAutowireCapableBeanFactory.class, "Executing InitializingBean interface's afterPropertiesSet method for bean [{}]", beanName);
         }
         
         // 2. If bean defines initialization method, execute it
@@ -210,7 +642,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
                 // Execute initialization method via reflection
                 Method initMethod = bean.getClass().getMethod(initMethodName);
                 initMethod.invoke(bean);
-                System.out.println("Executing custom initialization method for bean [" + beanName + "]: " + initMethodName);
+                ContainerTrace.trace(AbstractAutowireCapableBeanFactory.class, "Executing custom initialization method for bean [{}]: {}", beanName, initMethodName);
             } catch (NoSuchMethodException e) {
                 throw new BeansException("Could not find initialization method for bean [" + beanName + "]: " + initMethodName, e);
             }
@@ -225,9 +657,19 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      */
     @Override
     public Object applyBeanPostProcessorsBeforeInitialization(Object existingBean, String beanName) throws BeansException {
+        return applyBeanPostProcessorsBeforeInitialization(existingBean, beanName,
+                getBeanPostProcessors().toArray(new BeanPostProcessor[0]), null);
+    }
+    
+    private Object applyBeanPostProcessorsBeforeInitialization(Object existingBean, String beanName,
+                                                               BeanPostProcessor[] processors,
+                                                               BeanCreationMetrics.Recorder recorder) {
         Object result = existingBean;
-        for (BeanPostProcessor processor : getBeanPostProcessors()) {
+        for (BeanPostProcessor processor : processors) {
             Object current = processor.postProcessBeforeInitialization(result, beanName);
+            if (recorder != null) {
+                recorder.mark(BeanCreationMetrics.Phase.BEFORE_INITIALIZATION, processor.getClass().getName());
+            }
             if (current == null) {
                 return result;
             }
@@ -244,9 +686,19 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      */
     @Override
     public Object applyBeanPostProcessorsAfterInitialization(Object existingBean, String beanName) throws BeansException {
+        return applyBeanPostProcessorsAfterInitialization(existingBean, beanName,
+                getBeanPostProcessors().toArray(new BeanPostProcessor[0]), null);
+    }
+    
+    private Object applyBeanPostProcessorsAfterInitialization(Object existingBean, String beanName,
+                                                              BeanPostProcessor[] processors,
+                                                              BeanCreationMetrics.Recorder recorder) {
         Object result = existingBean;
-        for (BeanPostProcessor processor : getBeanPostProcessors()) {
+        for (BeanPostProcessor processor : processors) {
             Object current = processor.postProcessAfterInitialization(result, beanName);
+            if (recorder != null) {
+                recorder.mark(BeanCreationMetrics.Phase.AFTER_INITIALIZATION, processor.getClass().getName());
+            }
             if (current == null) {
                 return result;
             }
@@ -287,7 +739,22 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         Object exposedObject = bean;
         // Here you can perform subsequent processing on the bean, such as creating proxy objects
         // Simple implementation for now, directly return original object
-        System.out.println("Getting early reference for bean [" + beanName + "]");
+        ContainerTrace.trace(AbstractAutowireCapableBeanFactory.class, "Getting early reference for bean [{}]", beanName);
         return exposedObject;
     }
-}
\ No newline at end of file
+
+    /**
+     * Init callbacks of one bean running on the async init executor
+     */
+    private static final class AsyncInitialization {
+
+        /** Completed with the exposed bean */
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        /** Callbacks to submit once the singleton is registered, null after submission */
+        private Runnable task;
+
+        /** Thread running the callbacks, null before and after */
+        private volatile Thread runner;
+    }
+}
@@ -5,9 +5,13 @@ import com.minispring.beans.factory.BeanFactory;
 import com.minispring.beans.factory.ObjectFactory;
 import com.minispring.beans.factory.config.BeanDefinition;
 import com.minispring.beans.factory.config.BeanPostProcessor;
+import com.minispring.core.trace.ContainerTrace;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Abstract Bean Factory
@@ -17,7 +21,13 @@ import java.util.List;
 public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry implements BeanFactory {
 
     /** List of BeanPostProcessors */
-    private final List<BeanPostProcessor> beanPostProcessors = new ArrayList<>();
+    private final List<BeanPostProcessor> beanPostProcessors = new CopyOnWriteArrayList<>();
+    
+    /** Incremented whenever BeanPostProcessors change, invalidating cached post-processor pipelines */
+    private volatile int beanPostProcessorsVersion;
+    
+    /** Constructor plans and post-processor pipelines resolved per bean definition */
+    private final Map<BeanDefinition, ResolvedBeanDefinition> resolvedBeanDefinitions = new ConcurrentHashMap<>(64);
 
     @Override
     public Object getBean(String name) throws BeansException {
@@ -52,14 +62,45 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
         // Avoid duplicate addition
         this.beanPostProcessors.remove(beanPostProcessor);
         this.beanPostProcessors.add(beanPostProcessor);
+        this.beanPostProcessorsVersion++;
     }
     
     /**
      * Get list of BeanPostProcessors
-     * @return list of bean post processors
+     * @return unmodifiable list of bean post processors
      */
     public List<BeanPostProcessor> getBeanPostProcessors() {
-        return this.beanPostProcessors;
+        return Collections.unmodifiableList(this.beanPostProcessors);
+    }
+    
+    /**
+     * Get version of the BeanPostProcessor list
+     * @return version, changes whenever a BeanPostProcessor is added
+     */
+    protected int getBeanPostProcessorsVersion() {
+        return this.beanPostProcessorsVersion;
+    }
+    
+    /**
+     * Get state resolved for a bean definition, starting over if the definition changed since
+     * @param beanDefinition bean definition
+     * @return resolved state
+     */
+    ResolvedBeanDefinition getResolvedBeanDefinition(BeanDefinition beanDefinition) {
+        ResolvedBeanDefinition resolved = this.resolvedBeanDefinitions.get(beanDefinition);
+        if (resolved == null || !resolved.matches(beanDefinition)) {
+            resolved = new ResolvedBeanDefinition(beanDefinition);
+            this.resolvedBeanDefinitions.put(beanDefinition, resolved);
+        }
+        return resolved;
+    }
+    
+    /**
+     * Drop state resolved for a bean definition, e.g. once it was replaced in the registry
+     * @param beanDefinition bean definition
+     */
+    protected void clearResolvedBeanDefinition(BeanDefinition beanDefinition) {
+        this.resolvedBeanDefinitions.remove(beanDefinition);
     }
     
     /**
@@ -91,7 +132,7 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
         // First try to get from singleton bean cache
         Object bean = getSingleton(name);
         if (bean != null) {
-            System.out.println("Retrieved bean from cache: " + name);
+            ContainerTrace.trace(AbstractBeanFactory.class, "Retrieved bean from cache: {}", name);
             return (T) bean;
         }
 
@@ -110,11 +151,11 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
                     }
                 }
             });
-            System.out.println("Created and cached singleton bean: " + name);
+            ContainerTrace.trace(AbstractBeanFactory.class, "Created and cached singleton bean: {}", name);
         } else {
             // For prototype beans, create new instance directly
             bean = createBean(name, beanDefinition, args);
-            System.out.println("Created prototype bean: " + name);
+            ContainerTrace.trace(AbstractBeanFactory.class, "Created prototype bean: {}", name);
         }
         
         return (T) bean;
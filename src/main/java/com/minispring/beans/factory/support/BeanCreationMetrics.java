@@ -0,0 +1,248 @@
+package com.minispring.beans.factory.support;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bean Creation Metrics
+ * Records duration and allocated bytes of every bean creation phase, per bean
+ * Phase figures are inclusive: a dependency created while populating properties counts
+ * towards the property population phase of the dependent bean as well
+ * Allocated bytes are only available on JVMs supporting thread allocation tracking, -1 otherwise
+ */
+public class BeanCreationMetrics {
+
+    /**
+     * Bean creation phase
+     */
+    public enum Phase {
+        CONSTRUCTOR_RESOLUTION,
+        INSTANTIATION,
+        PROPERTY_POPULATION,
+        AWARE_CALLBACKS,
+        BEFORE_INITIALIZATION,
+        INIT_METHODS,
+        AFTER_INITIALIZATION
+    }
+
+    private final Map<String, BeanCreationRecord> records = new ConcurrentHashMap<>(256);
+
+    /** Allocation counter, null if not supported by the JVM */
+    private final com.sun.management.ThreadMXBean allocationCounter;
+
+    public BeanCreationMetrics() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean counter = null;
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            counter = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (!counter.isThreadAllocatedMemorySupported() || !counter.isThreadAllocatedMemoryEnabled()) {
+                counter = null;
+            }
+        }
+        this.allocationCounter = counter;
+    }
+
+    /**
+     * Start recording creation of a bean on the current thread
+     * @param beanName bean name
+     * @return recorder, marks phase boundaries
+     */
+    Recorder start(String beanName) {
+        return new Recorder(beanName);
+    }
+
+    /**
+     * Get creation records sorted by total duration, slowest first
+     * @return records
+     */
+    public List<BeanCreationRecord> getRecords() {
+        List<BeanCreationRecord> sorted = new ArrayList<>(this.records.values());
+        sorted.sort((r1, r2) -> Long.compare(r2.getTotalNanos(), r1.getTotalNanos()));
+        return sorted;
+    }
+
+    /**
+     * Get creation record of a bean
+     * @param beanName bean name
+     * @return record, null if the bean was not created while recording
+     */
+    public BeanCreationRecord getRecord(String beanName) {
+        return this.records.get(beanName);
+    }
+
+    /**
+     * Remove all records
+     */
+    public void clear() {
+        this.records.clear();
+    }
+
+    /**
+     * Format records as text report, slowest beans first
+     * @return report
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder("Bean creation metrics (inclusive, slowest first)\n");
+        for (BeanCreationRecord record : getRecords()) {
+            report.append(String.format("%-40s x%-4d %10.3f ms %12d bytes%n", record.getBeanName(),
+                    record.getCreationCount(), record.getTotalNanos() / 1_000_000.0, record.getTotalAllocatedBytes()));
+            for (PhaseRecord phase : record.getPhases()) {
+                report.append(String.format("    %-60s %10.3f ms %12d bytes%n", phase.getName(),
+                        phase.getNanos() / 1_000_000.0, phase.getAllocatedBytes()));
+            }
+        }
+        return report.toString();
+    }
+
+    private long allocatedBytes() {
+        return this.allocationCounter != null ? this.allocationCounter.getCurrentThreadAllocatedBytes() : -1L;
+    }
+
+    /**
+     * Records phase boundaries of one bean creation, confined to the creating thread
+     */
+    final class Recorder {
+
+        private final String beanName;
+
+        private final Map<String, PhaseRecord> phases = new LinkedHashMap<>();
+
+        private long lastNanos;
+
+        private long lastBytes;
+
+        Recorder(String beanName) {
+            this.beanName = beanName;
+            this.lastBytes = allocatedBytes();
+            this.lastNanos = System.nanoTime();
+        }
+
+        /**
+         * End current phase, starting the next one
+         * @param phase ended phase
+         * @param detail phase detail, e.g. post-processor class, may be null
+         */
+        void mark(Phase phase, String detail) {
+            long nanos = System.nanoTime();
+            long bytes = allocatedBytes();
+            String name = detail != null ? phase + " " + detail : phase.name();
+            PhaseRecord record = this.phases.get(name);
+            if (record == null) {
+                record = new PhaseRecord(name);
+                this.phases.put(name, record);
+            }
+            record.add(nanos - this.lastNanos, bytes >= 0 ? bytes - this.lastBytes : -1L);
+            this.lastNanos = System.nanoTime();
+            this.lastBytes = allocatedBytes();
+        }
+
+        /**
+         * Finish recording and publish the bean's phases
+         */
+        void finish() {
+            records.computeIfAbsent(this.beanName, BeanCreationRecord::new).add(this.phases.values());
+        }
+    }
+
+    /**
+     * Accumulated creation metrics of one bean, prototypes accumulate over all creations
+     */
+    public static final class BeanCreationRecord {
+
+        private final String beanName;
+
+        private final Map<String, PhaseRecord> phases = new LinkedHashMap<>();
+
+        private int creationCount;
+
+        BeanCreationRecord(String beanName) {
+            this.beanName = beanName;
+        }
+
+        synchronized void add(Iterable<PhaseRecord> recordedPhases) {
+            this.creationCount++;
+            for (PhaseRecord recorded : recordedPhases) {
+                this.phases.computeIfAbsent(recorded.getName(), PhaseRecord::new)
+                        .add(recorded.getNanos(), recorded.getAllocatedBytes());
+            }
+        }
+
+        public String getBeanName() {
+            return this.beanName;
+        }
+
+        public synchronized int getCreationCount() {
+            return this.creationCount;
+        }
+
+        /**
+         * Get phases in execution order
+         * @return phase records
+         */
+        public synchronized List<PhaseRecord> getPhases() {
+            return Collections.unmodifiableList(new ArrayList<>(this.phases.values()));
+        }
+
+        public synchronized long getTotalNanos() {
+            long total = 0;
+            for (PhaseRecord phase : this.phases.values()) {
+                total += phase.getNanos();
+            }
+            return total;
+        }
+
+        public synchronized long getTotalAllocatedBytes() {
+            long total = 0;
+            for (PhaseRecord phase : this.phases.values()) {
+                if (phase.getAllocatedBytes() < 0) {
+                    return -1L;
+                }
+                total += phase.getAllocatedBytes();
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Duration and allocated bytes of one phase
+     */
+    public static final class PhaseRecord {
+
+        private final String name;
+
+        private long nanos;
+
+        private long allocatedBytes;
+
+        PhaseRecord(String name) {
+            this.name = name;
+        }
+
+        void add(long phaseNanos, long phaseBytes) {
+            this.nanos += phaseNanos;
+            this.allocatedBytes = phaseBytes < 0 || this.allocatedBytes < 0 ? -1L : this.allocatedBytes + phaseBytes;
+        }
+
+        /**
+         * Get phase name, phase constant optionally followed by detail
+         * @return name
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        public long getNanos() {
+            return this.nanos;
+        }
+
+        public long getAllocatedBytes() {
+            return this.allocatedBytes;
+        }
+    }
+}
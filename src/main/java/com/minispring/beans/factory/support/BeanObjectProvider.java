@@ -0,0 +1,117 @@
+package com.minispring.beans.factory.support;
+
+import com.minispring.beans.BeansException;
+import com.minispring.beans.factory.ObjectProvider;
+import com.minispring.beans.factory.config.BeanDefinition;
+import com.minispring.core.trace.ContainerTrace;
+
+/**
+ * Bean Object Provider
+ * ObjectProvider bound to one bean name, resolving the bean definition once into a creation handle
+ * Prototype beans are created straight from the handle, skipping name lookup and definition resolution
+ * The handle is re-resolved when bean definitions are registered afterwards
+ * @param <T> bean type
+ */
+final class BeanObjectProvider<T> implements ObjectProvider<T> {
+
+    private final AbstractAutowireCapableBeanFactory beanFactory;
+
+    private final String beanName;
+
+    private volatile CreationHandle handle;
+
+    BeanObjectProvider(AbstractAutowireCapableBeanFactory beanFactory, String beanName) {
+        this.beanFactory = beanFactory;
+        this.beanName = beanName;
+    }
+
+    @Override
+    public T get() throws BeansException {
+        return getBean(resolveHandle());
+    }
+
+    @Override
+    public T getIfAvailable() throws BeansException {
+        CreationHandle creationHandle = this.handle;
+        if (creationHandle == null || creationHandle.registryVersion != this.beanFactory.getBeanDefinitionRegistryVersion()) {
+            if (!this.beanFactory.containsBean(this.beanName)) {
+                return null;
+            }
+            creationHandle = resolveHandle();
+        }
+        return getBean(creationHandle);
+    }
+
+    /**
+     * Check if the bean is a singleton, as resolved by the current creation handle
+     * @return false for beans created per request, e.g. prototypes
+     */
+    boolean isSingleton() {
+        BeanDefinition beanDefinition = resolveHandle().beanDefinition;
+        return beanDefinition == null || beanDefinition.isSingleton();
+    }
+
+    private T getBean(CreationHandle creationHandle) {
+        BeanDefinition beanDefinition = creationHandle.beanDefinition;
+        if (beanDefinition == null) {
+            // Bean of the parent factory or manually registered singleton, looked up as usual
+            return this.beanFactory.doGetBean(this.beanName, null, null);
+        }
+        if (beanDefinition.isSingleton()) {
+            Object bean = this.beanFactory.getSingleton(this.beanName);
+            if (bean == null) {
+                // Not created yet, create it the regular way
+                return this.beanFactory.doGetBean(this.beanName, null, null);
+            }
+            this.beanFactory.beanRequested(this.beanName);
+            return cast(bean);
+        }
+        this.beanFactory.beanRequested(this.beanName);
+        Object bean = this.beanFactory.createBean(this.beanName, beanDefinition, null);
+        ContainerTrace.trace(BeanObjectProvider.class, "Created prototype bean from creation handle: {}", this.beanName);
+        return cast(bean);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T cast(Object bean) {
+        return (T) bean;
+    }
+
+    private CreationHandle resolveHandle() {
+        int registryVersion = this.beanFactory.getBeanDefinitionRegistryVersion();
+        CreationHandle creationHandle = this.handle;
+        if (creationHandle == null || creationHandle.registryVersion != registryVersion) {
+            BeanDefinition beanDefinition = null;
+            if (this.beanFactory.isDelegatedToParent(this.beanName)) {
+                ContainerTrace.trace(BeanObjectProvider.class, "Provider for bean [{}] delegates to parent factory", this.beanName);
+            } else if (this.beanFactory.containsBeanDefinition(this.beanName)) {
+                beanDefinition = this.beanFactory.getBeanDefinition(this.beanName);
+            } else if (!this.beanFactory.containsBean(this.beanName)) {
+                throw new BeansException("No bean named '" + this.beanName + "' available");
+            }
+            creationHandle = new CreationHandle(beanDefinition, registryVersion);
+            this.handle = creationHandle;
+        }
+        return creationHandle;
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectProvider for bean '" + this.beanName + "'";
+    }
+
+    /**
+     * Bean definition resolved at a registry version, null if the bean is looked up by name
+     */
+    private static final class CreationHandle {
+
+        private final BeanDefinition beanDefinition;
+
+        private final int registryVersion;
+
+        CreationHandle(BeanDefinition beanDefinition, int registryVersion) {
+            this.beanDefinition = beanDefinition;
+            this.registryVersion = registryVersion;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.minispring.beans.factory.support;
+
+import com.minispring.beans.factory.config.BeanDefinition;
+import com.minispring.beans.factory.config.BeanPostProcessor;
+import com.minispring.beans.factory.config.SelectiveBeanPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bean Post-Processor Pipeline
+ * Immutable arrays of the post-processors applicable to one bean definition, per callback
+ * Built once per definition and reused until post-processors are added to the owning factory
+ */
+final class BeanPostProcessorPipeline {
+
+    private static final BeanPostProcessor[] NO_PROCESSORS = new BeanPostProcessor[0];
+
+    private final int postProcessorsVersion;
+
+    private final BeanPostProcessor[] beforeInitialization;
+
+    private final BeanPostProcessor[] afterInitialization;
+
+    private BeanPostProcessorPipeline(int postProcessorsVersion,
+                                      BeanPostProcessor[] beforeInitialization, BeanPostProcessor[] afterInitialization) {
+        this.postProcessorsVersion = postProcessorsVersion;
+        this.beforeInitialization = beforeInitialization;
+        this.afterInitialization = afterInitialization;
+    }
+
+    /**
+     * Get pipeline of a bean definition, building it if missing or outdated
+     *
+     * @param beanFactory owning bean factory
+     * @param beanDefinition bean definition
+     * @return pipeline
+     */
+    static BeanPostProcessorPipeline forDefinition(AbstractBeanFactory beanFactory, BeanDefinition beanDefinition) {
+        int postProcessorsVersion = beanFactory.getBeanPostProcessorsVersion();
+        ResolvedBeanDefinition resolved = beanFactory.getResolvedBeanDefinition(beanDefinition);
+        BeanPostProcessorPipeline cached = resolved.getPostProcessorPipeline();
+        if (cached != null && cached.postProcessorsVersion == postProcessorsVersion) {
+            return cached;
+        }
+
+        List<BeanPostProcessor> beforeInitialization = new ArrayList<>();
+        List<BeanPostProcessor> afterInitialization = new ArrayList<>();
+        for (BeanPostProcessor processor : beanFactory.getBeanPostProcessors()) {
+            if (processor instanceof SelectiveBeanPostProcessor) {
+                SelectiveBeanPostProcessor selective = (SelectiveBeanPostProcessor) processor;
+                if (!selective.appliesTo(beanDefinition)) {
+                    continue;
+                }
+                if (selective.hasBeforeInitialization()) {
+                    beforeInitialization.add(processor);
+                }
+                if (selective.hasAfterInitialization()) {
+                    afterInitialization.add(processor);
+                }
+            } else {
+                beforeInitialization.add(processor);
+                afterInitialization.add(processor);
+            }
+        }
+        BeanPostProcessorPipeline pipeline = new BeanPostProcessorPipeline(postProcessorsVersion,
+                toArray(beforeInitialization), toArray(afterInitialization));
+        resolved.setPostProcessorPipeline(pipeline);
+        return pipeline;
+    }
+
+    private static BeanPostProcessor[] toArray(List<BeanPostProcessor> processors) {
+        return processors.isEmpty() ? NO_PROCESSORS : processors.toArray(NO_PROCESSORS);
+    }
+
+    /**
+     * Get post-processors to invoke before initialization, must not be modified
+     *
+     * @return post-processors in registration order
+     */
+    BeanPostProcessor[] getBeforeInitialization() {
+        return this.beforeInitialization;
+    }
+
+    /**
+     * Get post-processors to invoke after initialization, must not be modified
+     *
+     * @return post-processors in registration order
+     */
+    BeanPostProcessor[] getAfterInitialization() {
+        return this.afterInitialization;
+    }
+}
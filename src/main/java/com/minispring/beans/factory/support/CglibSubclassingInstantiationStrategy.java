@@ -2,7 +2,8 @@ package com.minispring.beans.factory.support;
 
 import com.minispring.beans.BeansException;
 import com.minispring.beans.factory.config.BeanDefinition;
-import net.sf.cglib.proxy.Enhancer;
+import com.minispring.util.CglibClassCache;
+import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.NoOp;
 
 import java.lang.reflect.Constructor;
@@ -13,21 +14,18 @@ import java.lang.reflect.Constructor;
  */
 public class CglibSubclassingInstantiationStrategy implements InstantiationStrategy {
 
+    /** Callback types of the generated subclass, NoOp means no interception logic */
+    private static final Class<?>[] CALLBACK_TYPES = {NoOp.class};
+
+    private static final Callback[] CALLBACKS = {NoOp.INSTANCE};
+
     @Override
     public Object instantiate(BeanDefinition beanDefinition, String beanName, Constructor<?> ctor, Object[] args) throws BeansException {
         try {
-            // Create CGLIB enhancer
-            Enhancer enhancer = new Enhancer();
-            // Set the class for which to create a subclass
-            enhancer.setSuperclass(beanDefinition.getBeanClass());
-            // Set callback function, using NoOp.INSTANCE here, meaning no interception logic
-            // Note: If AOP or other enhancement logic is needed, use MethodInterceptor instead
-            enhancer.setCallback(NoOp.INSTANCE);
-
             // Parameter validation and processing
             if (ctor == null) {
                 // If no constructor specified, use default constructor
-                return enhancer.create();
+                return CglibClassCache.newInstance(beanDefinition.getBeanClass(), CALLBACK_TYPES, null, CALLBACKS);
             }
             
             // Convert null args to empty array to avoid NPE
@@ -41,8 +39,9 @@ public class CglibSubclassingInstantiationStrategy implements InstantiationStrat
                         ", expected " + ctor.getParameterCount() + " parameters but got " + args.length + " parameters");
             }
             
-            // Instantiate using specified constructor
-            return enhancer.create(ctor.getParameterTypes(), args);
+            // Instantiate using specified constructor, the generated class is shared by all instances
+            return CglibClassCache.newInstance(beanDefinition.getBeanClass(), CALLBACK_TYPES, null,
+                    ctor.getParameterTypes(), args, CALLBACKS);
         } catch (Exception e) {
             throw new BeansException("Failed to instantiate bean using CGLIB [" + beanName + "]", e);
         }
@@ -1,5 +1,6 @@
 package com.minispring.beans.factory.support;
 
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Parameter;
 import java.util.*;
@@ -13,6 +14,7 @@ import com.minispring.beans.factory.config.BeanReference;
 import com.minispring.beans.factory.config.DependencyDescriptor;
 import com.minispring.core.DefaultParameterNameDiscoverer;
 import com.minispring.core.ParameterNameDiscoverer;
+import com.minispring.core.trace.ContainerTrace;
 
 /**
  * Constructor Resolver
@@ -23,7 +25,6 @@ public class ConstructorResolver {
     private final AbstractAutowireCapableBeanFactory beanFactory;
     private final TypeConverter typeConverter;
     private final ParameterNameDiscoverer parameterNameDiscoverer;
-    private final Set<String> inCreationBeans;
 
     /**
      * Create a constructor resolver
@@ -34,45 +35,96 @@ public class ConstructorResolver {
         this.beanFactory = beanFactory;
         this.typeConverter = new SimpleTypeConverter();
         this.parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
-        this.inCreationBeans = new HashSet<>();
     }
 
     /**
-     * Check for circular dependency
+     * Argument shape used for constructors resolved by autowiring
+     */
+    private static final Object AUTOWIRE_ARGUMENT_SHAPE = new Object();
+
+    /**
+     * Resolve constructor and arguments for a bean
+     * Reuses the constructor plan cached for the bean definition and the same argument shape,
+     * only falls back to full constructor resolution on the first instantiation
      * 
      * @param beanName bean name
-     * @param dependencyType dependency type
-     * @return whether circular dependency exists
+     * @param beanDefinition bean definition
+     * @param args explicitly provided arguments
+     * @return resolved constructor and arguments
+     * @throws BeansException if constructor cannot be resolved
      */
-    private boolean isCircularDependency(String beanName, Class<?> dependencyType) {
-        DefaultListableBeanFactory factory = (DefaultListableBeanFactory) beanFactory;
-        // Check if any bean of the dependency type is currently in creation
-        String[] dependencyNames = factory.getBeanNamesForType(dependencyType);
-        
-        for (String dependencyName : dependencyNames) {
-            if (beanFactory.isSingletonCurrentlyInCreation(dependencyName)) {
-                System.out.println("Detected circular dependency: " + beanName + " -> " + dependencyName + "(" + dependencyType.getName() + ")");
-                return true;
+    public BeanInstantiationContext resolveConstructor(String beanName, BeanDefinition beanDefinition, Object[] args) throws BeansException {
+        Object argumentShape = argumentShape(args);
+        ResolvedBeanDefinition resolved = beanFactory.getResolvedBeanDefinition(beanDefinition);
+        ConstructorPlan plan = resolved.getConstructorPlan(argumentShape);
+        if (plan != null && plan.getRegistryVersion() == beanFactory.getBeanDefinitionRegistryVersion()) {
+            BeanInstantiationContext instantiationContext = applyConstructorPlan(beanName, plan, args);
+            if (instantiationContext != null) {
+                return instantiationContext;
             }
         }
-        return false;
+        
+        BeanInstantiationContext instantiationContext = autowireConstructor(
+                beanName, beanDefinition, beanDefinition.getBeanClass().getDeclaredConstructors(), args);
+        if (instantiationContext.getPlan() != null) {
+            resolved.setConstructorPlan(argumentShape, instantiationContext.getPlan());
+        }
+        return instantiationContext;
+    }
+
+    /**
+     * Get argument shape key for explicitly provided arguments
+     * 
+     * @param args explicitly provided arguments
+     * @return shape key, equal for argument arrays with the same runtime classes
+     */
+    private static Object argumentShape(Object[] args) {
+        if (args == null || args.length == 0) {
+            return AUTOWIRE_ARGUMENT_SHAPE;
+        }
+        Class<?>[] argumentTypes = new Class<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            argumentTypes[i] = args[i] != null ? args[i].getClass() : null;
+        }
+        return Arrays.asList(argumentTypes);
     }
 
     /**
-     * Get early bean reference
+     * Apply cached constructor plan
      * 
      * @param beanName bean name
-     * @return early bean reference
+     * @param plan cached constructor plan
+     * @param args explicitly provided arguments
+     * @return constructor and arguments, null if the plan does not fit the given argument values
      */
-    private Object getEarlyBeanReference(String beanName) {
-        // Try to get early reference from cache
-        Object earlyReference = beanFactory.getSingleton(beanName);
-        if (earlyReference != null) {
-            System.out.println("Got early reference for bean [" + beanName + "]");
-            return earlyReference;
-        }
-        System.out.println("Could not get early reference for bean [" + beanName + "], might not be in creation process yet");
-        return null;
+    private BeanInstantiationContext applyConstructorPlan(String beanName, ConstructorPlan plan, Object[] args) {
+        Object[] resolvedArgs;
+        if (plan.isExplicitArguments()) {
+            Class<?>[] conversionTypes = plan.getConversionTypes();
+            resolvedArgs = new Object[conversionTypes.length];
+            for (int i = 0; i < conversionTypes.length; i++) {
+                if (conversionTypes[i] == null) {
+                    resolvedArgs[i] = args[i];
+                    continue;
+                }
+                try {
+                    resolvedArgs[i] = typeConverter.convert(args[i], conversionTypes[i]);
+                } catch (Exception e) {
+                    // Same argument types, but this value cannot be converted, resolve again
+                    return null;
+                }
+            }
+        } else {
+            String[] argumentBeanNames = plan.getArgumentBeanNames();
+            resolvedArgs = new Object[argumentBeanNames.length];
+            for (int i = 0; i < argumentBeanNames.length; i++) {
+                if (argumentBeanNames[i] != null) {
+                    resolvedArgs[i] = beanFactory.getBean(argumentBeanNames[i]);
+                    beanFactory.registerDependentBean(argumentBeanNames[i], beanName);
+                }
+            }
+        }
+        return new BeanInstantiationContext(plan.getConstructor(), resolvedArgs);
     }
 
     /**
@@ -88,14 +140,18 @@ public class ConstructorResolver {
     public BeanInstantiationContext autowireConstructor(String beanName, BeanDefinition beanDefinition, 
             Constructor<?>[] constructors, Object[] args) throws BeansException {
         
-        System.out.println("Starting to resolve constructor: " + beanName + ", constructor count: " + (constructors != null ? constructors.length : 0));
+        if (ContainerTrace.isEnabled(ConstructorResolver.class)) {
+            ContainerTrace.trace(ConstructorResolver.class, "Starting to resolve constructor: {}, constructor count: {}", beanName, (constructors != null ? constructors.length : 0));
+        }
+        int registryVersion = beanFactory.getBeanDefinitionRegistryVersion();
         
         // If no constructors provided, use default constructor
         if (constructors == null || constructors.length == 0) {
             try {
                 Constructor<?> defaultCtor = beanDefinition.getBeanClass().getDeclaredConstructor();
-                System.out.println("Using default constructor: " + defaultCtor);
-                return new BeanInstantiationContext(defaultCtor, new Object[0]);
+                ContainerTrace.trace(ConstructorResolver.class, "Using default constructor: {}", defaultCtor);
+                return new BeanInstantiationContext(defaultCtor, new Object[0],
+                        ConstructorPlan.autowired(defaultCtor, new String[0], registryVersion));
             } catch (NoSuchMethodException e) {
                 throw new BeansException("Could not find default constructor: " + beanDefinition.getBeanClass().getName(), e);
             }
@@ -103,19 +159,27 @@ public class ConstructorResolver {
         
         // If arguments provided, match constructor by argument types
         if (args != null && args.length > 0) {
-            System.out.println("Arguments provided, trying to match constructor: " + Arrays.toString(args));
+            if (ContainerTrace.isEnabled(ConstructorResolver.class)) {
+                ContainerTrace.trace(ConstructorResolver.class, "Arguments provided, trying to match constructor: {}", Arrays.toString(args));
+            }
             for (Constructor<?> constructor : constructors) {
                 if (constructor.getParameterCount() == args.length) {
                     Class<?>[] paramTypes = constructor.getParameterTypes();
                     boolean match = true;
                     Object[] convertedArgs = new Object[args.length];
+                    Class<?>[] conversionTypes = new Class<?>[args.length];
                     
                     for (int i = 0; i < args.length; i++) {
                         if (args[i] != null) {
                             // Try type conversion
                             if (!paramTypes[i].isInstance(args[i])) {
+                                if (!typeConverter.canConvert(args[i].getClass(), paramTypes[i])) {
+                                    match = false;
+                                    break;
+                                }
                                 try {
                                     convertedArgs[i] = typeConverter.convert(args[i], paramTypes[i]);
+                                    conversionTypes[i] = paramTypes[i];
                                 } catch (Exception e) {
                                     match = false;
                                     break;
@@ -127,8 +191,9 @@ public class ConstructorResolver {
                     }
                     
                     if (match) {
-                        System.out.println("Found matching constructor: " + constructor);
-                        return new BeanInstantiationContext(constructor, convertedArgs);
+                        ContainerTrace.trace(ConstructorResolver.class, "Found matching constructor: {}", constructor);
+                        return new BeanInstantiationContext(constructor, convertedArgs,
+                                ConstructorPlan.explicit(constructor, conversionTypes, registryVersion));
                     }
                 }
             }
@@ -138,42 +203,43 @@ public class ConstructorResolver {
         Arrays.sort(constructors, (c1, c2) -> c2.getParameterCount() - c1.getParameterCount());
         
         // Try to find constructor that can be autowired
+        candidates:
         for (Constructor<?> constructor : constructors) {
-            System.out.println("Trying to autowire constructor: " + constructor);
+            ContainerTrace.trace(ConstructorResolver.class, "Trying to autowire constructor: {}", constructor);
             
             try {
-                // Get parameter names
-                String[] paramNames = parameterNameDiscoverer.getParameterNames(constructor);
-                Parameter[] parameters = constructor.getParameters();
-                Object[] resolvedArgs = new Object[parameters.length];
+                DependencyDescriptor[] descriptors = parameterDescriptors(constructor);
+                Object[] resolvedArgs = new Object[descriptors.length];
+                String[] argumentBeanNames = new String[descriptors.length];
                 
-                for (int i = 0; i < parameters.length; i++) {
-                    String paramName = paramNames != null ? paramNames[i] : parameters[i].getName();
-                    Class<?> paramType = parameters[i].getType();
-                    
-                    // Check for circular dependency
-                    if (isCircularDependency(beanName, paramType)) {
-                        resolvedArgs[i] = getEarlyBeanReference(beanName);
-                        continue;
-                    }
-                    
-                    // Create dependency descriptor
-                    DependencyDescriptor descriptor = new DependencyDescriptor(parameters[i], true);
-                    descriptor.setParameterName(paramName);
-                    
-                    try {
-                        resolvedArgs[i] = resolveDependent(descriptor, beanName);
-                    } catch (BeansException e) {
-                        System.out.println("Could not resolve parameter: " + paramName + ", type: " + paramType.getName());
-                        throw e;
+                for (int i = 0; i < descriptors.length; i++) {
+                    // A missing candidate moves on to the next constructor without an exception
+                    ResolvedDependency dependency = findDependency(descriptors[i]);
+                    if (!dependency.isResolved()) {
+                        if (ContainerTrace.isEnabled(ConstructorResolver.class)) {
+                            ContainerTrace.trace(ConstructorResolver.class, "Could not resolve parameter: {}, type: {}, {}",
+                                    descriptors[i].getDependencyName(), descriptors[i].getDependencyType().getName(),
+                                    dependency.getFailure());
+                        }
+                        continue candidates;
                     }
+                    resolvedArgs[i] = dependency.getBean();
+                    argumentBeanNames[i] = dependency.getBeanName();
                 }
                 
-                System.out.println("Successfully resolved constructor arguments: " + Arrays.toString(resolvedArgs));
-                return new BeanInstantiationContext(constructor, resolvedArgs);
+                // Only the chosen constructor's arguments become dependencies of the bean
+                for (String argumentBeanName : argumentBeanNames) {
+                    beanFactory.registerDependentBean(argumentBeanName, beanName);
+                }
+                
+                if (ContainerTrace.isEnabled(ConstructorResolver.class)) {
+                    ContainerTrace.trace(ConstructorResolver.class, "Successfully resolved constructor arguments: {}", Arrays.toString(resolvedArgs));
+                }
+                return new BeanInstantiationContext(constructor, resolvedArgs,
+                        ConstructorPlan.autowired(constructor, argumentBeanNames, registryVersion));
                 
             } catch (BeansException e) {
-                System.out.println("Constructor autowiring failed: " + e.getMessage());
+                ContainerTrace.trace(ConstructorResolver.class, "Constructor autowiring failed: {}", e.getMessage());
                 // Continue with next constructor
             }
         }
@@ -181,13 +247,85 @@ public class ConstructorResolver {
         // If no suitable constructor found, try default constructor
         try {
             Constructor<?> defaultCtor = beanDefinition.getBeanClass().getDeclaredConstructor();
-            System.out.println("No suitable constructor found, using default constructor: " + defaultCtor);
-            return new BeanInstantiationContext(defaultCtor, new Object[0]);
+            ContainerTrace.trace(ConstructorResolver.class, "No suitable constructor found, using default constructor: {}", defaultCtor);
+            return new BeanInstantiationContext(defaultCtor, new Object[0],
+                    ConstructorPlan.autowired(defaultCtor, new String[0], registryVersion));
         } catch (NoSuchMethodException e) {
             throw new BeansException("Could not find suitable constructor: " + beanDefinition.getBeanClass().getName(), e);
         }
     }
 
+    /**
+     * Create dependency descriptors for the parameters of a constructor, named by the discovered parameter names
+     * 
+     * @param constructor constructor
+     * @return one required descriptor per parameter
+     */
+    private DependencyDescriptor[] parameterDescriptors(Constructor<?> constructor) {
+        String[] paramNames = parameterNameDiscoverer.getParameterNames(constructor);
+        Parameter[] parameters = constructor.getParameters();
+        DependencyDescriptor[] descriptors = new DependencyDescriptor[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            descriptors[i] = new DependencyDescriptor(parameters[i], true);
+            descriptors[i].setParameterName(paramNames != null ? paramNames[i] : parameters[i].getName());
+        }
+        return descriptors;
+    }
+
+    /**
+     * Predict the beans autowiring passes to the constructor of a bean, without creating any bean
+     * Uses the cached constructor plan if there is one, otherwise makes the same constructor choice as
+     * autowireConstructor based on the registered bean definitions
+     * 
+     * @param beanDefinition bean definition
+     * @return names of the constructor dependencies, empty if the default constructor would be used,
+     *         every partially matched dependency if no constructor can be satisfied
+     */
+    Set<String> predictConstructorDependencies(BeanDefinition beanDefinition) {
+        Set<String> dependencies = new LinkedHashSet<>();
+        ConstructorPlan cachedPlan = beanFactory.getResolvedBeanDefinition(beanDefinition)
+                .getConstructorPlan(AUTOWIRE_ARGUMENT_SHAPE);
+        if (cachedPlan != null && cachedPlan.getRegistryVersion() == beanFactory.getBeanDefinitionRegistryVersion()) {
+            for (String argumentBeanName : cachedPlan.getArgumentBeanNames()) {
+                if (argumentBeanName != null) {
+                    dependencies.add(argumentBeanName);
+                }
+            }
+            return dependencies;
+        }
+        
+        // If no constructor can be satisfied the choice is not predictable, keep every partial match
+        Constructor<?>[] constructors = beanDefinition.getBeanClass().getDeclaredConstructors();
+        Arrays.sort(constructors, (c1, c2) -> c2.getParameterCount() - c1.getParameterCount());
+        for (Constructor<?> constructor : constructors) {
+            Set<String> constructorDependencies = new LinkedHashSet<>();
+            boolean satisfied = true;
+            for (DependencyDescriptor descriptor : parameterDescriptors(constructor)) {
+                ResolvedDependency match = matchDependency(descriptor);
+                if (match.isResolved()) {
+                    constructorDependencies.add(match.getBeanName());
+                } else {
+                    satisfied = false;
+                }
+            }
+            if (satisfied) {
+                return constructorDependencies;
+            }
+            dependencies.addAll(constructorDependencies);
+        }
+        return dependencies;
+    }
+
+    /**
+     * Predict the bean that satisfies a dependency, without creating any bean
+     * 
+     * @param descriptor dependency descriptor
+     * @return bean name, null if the dependency would not be resolved
+     */
+    String predictDependency(DependencyDescriptor descriptor) {
+        return matchDependency(descriptor).getBeanName();
+    }
+
     /**
      * Resolve constructor arguments
      * 
@@ -203,19 +341,25 @@ public class ConstructorResolver {
         Parameter[] parameters = constructor.getParameters();
         Object[] args = new Object[parameters.length];
         
-        System.out.println("Starting to resolve constructor arguments: " + constructor + ", parameter count: " + parameters.length);
+        ContainerTrace.trace(ConstructorResolver.class, "Starting to resolve constructor arguments: {}, parameter count: {}", constructor, parameters.length);
         
         for (int i = 0; i < parameters.length; i++) {
             Parameter parameter = parameters[i];
             DependencyDescriptor descriptor = new DependencyDescriptor(parameter, true);
             
-            System.out.println("Resolving parameter: " + parameter.getName() + ", type: " + parameter.getType().getName());
+            if (ContainerTrace.isEnabled(ConstructorResolver.class)) {
+                ContainerTrace.trace(ConstructorResolver.class, "Resolving parameter: {}, type: {}", parameter.getName(), parameter.getType().getName());
+            }
             
             try {
                 args[i] = resolveDependent(descriptor, beanName);
-                System.out.println("Successfully resolved parameter: " + parameter.getName() + " = " + args[i]);
+                if (ContainerTrace.isEnabled(ConstructorResolver.class)) {
+                    ContainerTrace.trace(ConstructorResolver.class, "Successfully resolved parameter: {} = {}", parameter.getName(), args[i]);
+                }
             } catch (BeansException e) {
-                System.out.println("Failed to resolve parameter: " + parameter.getName() + ", error: " + e.getMessage());
+                if (ContainerTrace.isEnabled(ConstructorResolver.class)) {
+                    ContainerTrace.trace(ConstructorResolver.class, "Failed to resolve parameter: {}, error: {}", parameter.getName(), e.getMessage());
+                }
                 throw new BeansException("Could not resolve constructor parameter: " + parameter.getName() + " type: " + 
                         parameter.getType().getName() + " for bean: " + beanName, e);
             }
@@ -225,88 +369,131 @@ public class ConstructorResolver {
     }
 
     /**
-     * Resolve dependency
+     * Resolve dependency, registering the current bean as its dependent
+     * Also used for annotation-driven field and method injection
      * 
      * @param descriptor dependency descriptor
      * @param beanName current bean name
-     * @return resolved dependency object
+     * @return resolved dependency object, null if an optional dependency was not found
      * @throws BeansException if dependency cannot be resolved
      */
-    private Object resolveDependent(DependencyDescriptor descriptor, String beanName) throws BeansException {
+    Object resolveDependent(DependencyDescriptor descriptor, String beanName) throws BeansException {
+        ResolvedDependency dependency = resolveDependency(descriptor, beanName);
+        if (dependency.getBeanName() != null) {
+            beanFactory.registerDependentBean(dependency.getBeanName(), beanName);
+        }
+        return dependency.getBean();
+    }
+
+    /**
+     * Resolve dependency, remembering the name of the bean that satisfied it
+     * 
+     * @param descriptor dependency descriptor
+     * @param beanName current bean name
+     * @return resolved dependency, with null bean name if an optional dependency was not found
+     * @throws BeansException if a required dependency cannot be resolved
+     */
+    private ResolvedDependency resolveDependency(DependencyDescriptor descriptor, String beanName) throws BeansException {
+        ResolvedDependency dependency = findDependency(descriptor);
+        if (dependency.isResolved() || !descriptor.isRequired()) {
+            return dependency;
+        }
+        throw new BeansException(dependency.getFailure());
+    }
+
+    /**
+     * Find the bean satisfying a dependency
+     * Misses are reported as unresolved results instead of exceptions
+     * 
+     * @param descriptor dependency descriptor
+     * @return resolved dependency, or an unresolved one carrying the reason
+     * @throws BeansException if a matching bean exists but cannot be created
+     */
+    private ResolvedDependency findDependency(DependencyDescriptor descriptor) throws BeansException {
+        ResolvedDependency match = matchDependency(descriptor);
+        if (!match.isResolved()) {
+            return match;
+        }
+        return new ResolvedDependency(match.getBeanName(), beanFactory.getBean(match.getBeanName()));
+    }
+
+    /**
+     * Choose the bean satisfying a dependency by name and type, without creating it
+     * Tries the dependency name, then the unique bean of the type, then parameter, dependency and type name
+     * among several candidates, then the type name
+     * 
+     * @param descriptor dependency descriptor
+     * @return resolved dependency without bean instance, or an unresolved one carrying the reason
+     */
+    private ResolvedDependency matchDependency(DependencyDescriptor descriptor) {
         Class<?> type = descriptor.getDependencyType();
         String dependencyName = descriptor.getDependencyName();
         
-        System.out.println("Resolving dependency: type=" + type.getName() + ", name=" + dependencyName);
+        ContainerTrace.trace(ConstructorResolver.class, "Resolving dependency: type={}, name={}", type.getName(), dependencyName);
         
-        // If dependency name specified, get directly
-        if (dependencyName != null && !dependencyName.isEmpty()) {
-            System.out.println("Getting bean by name: " + dependencyName);
-            try {
-                return beanFactory.getBean(dependencyName);
-            } catch (BeansException e) {
-                // If getting by name fails, try other methods
-                System.out.println("Failed to get bean by name: " + e.getMessage());
-            }
+        // If dependency name specified and a bean of a matching type has that name, use it
+        if (dependencyName != null && !dependencyName.isEmpty() && isCandidate(dependencyName, type)) {
+            ContainerTrace.trace(ConstructorResolver.class, "Found bean by name: {}", dependencyName);
+            return new ResolvedDependency(dependencyName, null);
         }
         
-        // Try to get by type
-        try {
-            System.out.println("Getting bean by type: " + type.getName());
-            DefaultListableBeanFactory listableBeanFactory = (DefaultListableBeanFactory) beanFactory;
-            String[] beanNames = listableBeanFactory.getBeanNamesForType(type);
-            
-            if (beanNames.length == 1) {
-                String autowiredBeanName = beanNames[0];
-                System.out.println("Found unique matching bean: " + autowiredBeanName);
-                return beanFactory.getBean(autowiredBeanName);
-            } else if (beanNames.length > 1) {
-                // If multiple matching beans found, try in the following priority:
-                // 1. Use parameter name
-                // 2. Use dependency name (if available)
-                // 3. Use type name (first letter lowercase)
-                String paramName = descriptor.getMethodParameter() != null ? 
-                    descriptor.getMethodParameter().getName() : null;
-                
-                // 1. Try using parameter name
-                if (paramName != null && Arrays.asList(beanNames).contains(paramName)) {
-                    System.out.println("Found matching bean by parameter name: " + paramName);
-                    return beanFactory.getBean(paramName);
-                }
-                
-                // 2. Try using dependency name
-                if (dependencyName != null && Arrays.asList(beanNames).contains(dependencyName)) {
-                    System.out.println("Found matching bean by dependency name: " + dependencyName);
-                    return beanFactory.getBean(dependencyName);
-                }
-                
-                // 3. Try using type name (first letter lowercase)
-                String typeNameBean = type.getSimpleName().substring(0, 1).toLowerCase() + 
-                    type.getSimpleName().substring(1);
-                if (Arrays.asList(beanNames).contains(typeNameBean)) {
-                    System.out.println("Found matching bean by type name: " + typeNameBean);
-                    return beanFactory.getBean(typeNameBean);
+        // Get by type
+        DefaultListableBeanFactory listableBeanFactory = (DefaultListableBeanFactory) beanFactory;
+        String[] beanNames = listableBeanFactory.getBeanNamesForTypeInternal(type);
+        String typeNameBean = type.getSimpleName().substring(0, 1).toLowerCase() + type.getSimpleName().substring(1);
+        
+        if (beanNames.length == 1) {
+            ContainerTrace.trace(ConstructorResolver.class, "Found unique matching bean: {}", beanNames[0]);
+            return new ResolvedDependency(beanNames[0], null);
+        }
+        if (beanNames.length > 1) {
+            // If multiple matching beans found, try in the following priority:
+            // 1. Use parameter name
+            // 2. Use dependency name (if available)
+            // 3. Use type name (first letter lowercase)
+            List<String> candidateNames = Arrays.asList(beanNames);
+            String paramName = descriptor.getMethodParameter() != null ? 
+                descriptor.getMethodParameter().getName() : null;
+            for (String candidateName : new String[] {paramName, dependencyName, typeNameBean}) {
+                if (candidateName != null && candidateNames.contains(candidateName)) {
+                    ContainerTrace.trace(ConstructorResolver.class, "Found matching bean by name among candidates: {}", candidateName);
+                    return new ResolvedDependency(candidateName, null);
                 }
-                
-                // If no matching bean found, throw exception
-                throw new BeansException("Found multiple beans of type '" + type.getName() + "': " + 
-                    String.join(", ", beanNames));
             }
-            
-            // If no matching bean found, try using type name (first letter lowercase)
-            String typeNameBean = type.getSimpleName().substring(0, 1).toLowerCase() + 
-                type.getSimpleName().substring(1);
-            if (beanFactory.containsBean(typeNameBean)) {
-                System.out.println("Found bean using type name: " + typeNameBean);
-                return beanFactory.getBean(typeNameBean);
-            }
-            
-            throw new BeansException("No bean found of type '" + type.getName() + "'");
-            
+            return ResolvedDependency.unresolved("Found multiple beans of type '" + type.getName() + "': " + 
+                String.join(", ", beanNames));
+        }
+        
+        // If no matching bean found by type, try using type name (first letter lowercase)
+        if (isCandidate(typeNameBean, type)) {
+            ContainerTrace.trace(ConstructorResolver.class, "Found bean using type name: {}", typeNameBean);
+            return new ResolvedDependency(typeNameBean, null);
+        }
+        
+        return ResolvedDependency.unresolved("No bean found of type '" + type.getName() + "'");
+    }
+
+    /**
+     * Check if a bean of the required type exists under a name
+     * Bean definitions are checked by their class, registered singletons and parent beans by their type
+     * 
+     * @param candidateName candidate bean name
+     * @param type required type
+     * @return whether the bean exists and has a matching type
+     */
+    private boolean isCandidate(String candidateName, Class<?> type) {
+        Class<?> boxedType = type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+        if (beanFactory.containsBeanDefinition(candidateName)) {
+            return boxedType.isAssignableFrom(beanFactory.getBeanDefinition(candidateName).getBeanClass());
+        }
+        if (!beanFactory.containsBean(candidateName)) {
+            return false;
+        }
+        try {
+            Class<?> candidateType = ((DefaultListableBeanFactory) beanFactory).getType(candidateName);
+            return candidateType != null && boxedType.isAssignableFrom(candidateType);
         } catch (BeansException e) {
-            if (descriptor.isRequired()) {
-                throw e;
-            }
-            return null;
+            return false;
         }
     }
 
@@ -317,10 +504,16 @@ public class ConstructorResolver {
     public static class BeanInstantiationContext {
         private final Constructor<?> constructor;
         private final Object[] args;
+        private final ConstructorPlan plan;
 
         public BeanInstantiationContext(Constructor<?> constructor, Object[] args) {
+            this(constructor, args, null);
+        }
+
+        public BeanInstantiationContext(Constructor<?> constructor, Object[] args, ConstructorPlan plan) {
             this.constructor = constructor;
             this.args = args;
+            this.plan = plan;
         }
 
         public Constructor<?> getConstructor() {
@@ -330,5 +523,107 @@ public class ConstructorResolver {
         public Object[] getArgs() {
             return args;
         }
+
+        public ConstructorPlan getPlan() {
+            return plan;
+        }
+    }
+
+    /**
+     * Constructor plan
+     * Resolved constructor plus a precomputed resolution step per parameter,
+     * cached per bean definition so later instantiations skip constructor resolution
+     */
+    public static class ConstructorPlan {
+        private final Constructor<?> constructor;
+        private final Class<?>[] conversionTypes;
+        private final String[] argumentBeanNames;
+        private final int registryVersion;
+
+        private ConstructorPlan(Constructor<?> constructor, Class<?>[] conversionTypes, String[] argumentBeanNames, int registryVersion) {
+            this.constructor = constructor;
+            this.conversionTypes = conversionTypes;
+            this.argumentBeanNames = argumentBeanNames;
+            this.registryVersion = registryVersion;
+        }
+
+        /**
+         * Plan for explicitly provided arguments
+         * @param constructor matched constructor
+         * @param conversionTypes target type per argument, null where the argument is passed as is
+         * @param registryVersion bean definition registry version the plan was resolved against
+         */
+        static ConstructorPlan explicit(Constructor<?> constructor, Class<?>[] conversionTypes, int registryVersion) {
+            return new ConstructorPlan(constructor, conversionTypes, null, registryVersion);
+        }
+
+        /**
+         * Plan for autowired arguments
+         * @param constructor autowired constructor
+         * @param argumentBeanNames bean name per parameter, null for unresolved optional parameters
+         * @param registryVersion bean definition registry version the plan was resolved against
+         */
+        static ConstructorPlan autowired(Constructor<?> constructor, String[] argumentBeanNames, int registryVersion) {
+            return new ConstructorPlan(constructor, null, argumentBeanNames, registryVersion);
+        }
+
+        public Constructor<?> getConstructor() {
+            return constructor;
+        }
+
+        public boolean isExplicitArguments() {
+            return conversionTypes != null;
+        }
+
+        public Class<?>[] getConversionTypes() {
+            return conversionTypes;
+        }
+
+        public String[] getArgumentBeanNames() {
+            return argumentBeanNames;
+        }
+
+        public int getRegistryVersion() {
+            return registryVersion;
+        }
+    }
+
+    /**
+     * Name of the bean satisfying a dependency and, once obtained, the bean itself, or the reason why none could be found
+     */
+    private static class ResolvedDependency {
+        private final String beanName;
+        private final Object bean;
+        private final String failure;
+
+        ResolvedDependency(String beanName, Object bean) {
+            this(beanName, bean, null);
+        }
+
+        private ResolvedDependency(String beanName, Object bean, String failure) {
+            this.beanName = beanName;
+            this.bean = bean;
+            this.failure = failure;
+        }
+
+        static ResolvedDependency unresolved(String failure) {
+            return new ResolvedDependency(null, null, failure);
+        }
+
+        boolean isResolved() {
+            return failure == null;
+        }
+
+        String getBeanName() {
+            return beanName;
+        }
+
+        Object getBean() {
+            return bean;
+        }
+
+        String getFailure() {
+            return failure;
+        }
     }
-} 
\ No newline at end of file
+}
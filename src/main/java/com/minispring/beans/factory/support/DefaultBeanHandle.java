@@ -0,0 +1,78 @@
+package com.minispring.beans.factory.support;
+
+import com.minispring.beans.BeansException;
+import com.minispring.beans.factory.BeanHandle;
+
+/**
+ * Default Bean Handle
+ * Caches the instance of a fully created singleton, other beans are created through the creation handle
+ * of a BeanObjectProvider, which holds the resolved bean definition until definitions change
+ * @param <T> bean type
+ */
+final class DefaultBeanHandle<T> implements BeanHandle<T> {
+
+    private final AbstractAutowireCapableBeanFactory beanFactory;
+
+    private final String beanName;
+
+    private final BeanObjectProvider<T> provider;
+
+    /** Singleton instance, null until resolved or after invalidation */
+    private volatile T singletonInstance;
+
+    private volatile boolean valid = true;
+
+    DefaultBeanHandle(AbstractAutowireCapableBeanFactory beanFactory, String beanName) {
+        this.beanFactory = beanFactory;
+        this.beanName = beanName;
+        this.provider = new BeanObjectProvider<>(beanFactory, beanName);
+    }
+
+    @Override
+    public String getBeanName() {
+        return this.beanName;
+    }
+
+    @Override
+    public T getBean() throws BeansException {
+        T bean = this.singletonInstance;
+        if (bean != null) {
+            return bean;
+        }
+        return resolveBean();
+    }
+
+    private T resolveBean() {
+        if (!this.valid) {
+            throw new BeansException("Bean handle for '" + this.beanName
+                    + "' is no longer valid, the bean factory was refreshed or closed");
+        }
+        T bean = this.provider.get();
+        // Only cache fully created singletons, never early references or prototypes
+        if (this.provider.isSingleton() && this.beanFactory.getSingleton(this.beanName, false) == bean) {
+            this.singletonInstance = bean;
+            if (!this.valid) {
+                this.singletonInstance = null;
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public boolean isValid() {
+        return this.valid;
+    }
+
+    /**
+     * Invalidate the handle, dropping the cached singleton
+     */
+    void invalidate() {
+        this.valid = false;
+        this.singletonInstance = null;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanHandle for bean '" + this.beanName + "'" + (this.valid ? "" : " (invalidated)");
+    }
+}
@@ -1,16 +1,41 @@
 package com.minispring.beans.factory.support;
 
 import com.minispring.beans.BeansException;
+import com.minispring.beans.PropertyValue;
 import com.minispring.beans.factory.BeanFactory;
+import com.minispring.beans.factory.BeanHandle;
 import com.minispring.beans.factory.ConfigurableListableBeanFactory;
 import com.minispring.beans.factory.config.BeanDefinition;
+import com.minispring.beans.factory.config.BeanDefinitionCustomizer;
 import com.minispring.beans.factory.config.BeanPostProcessor;
+import com.minispring.beans.factory.config.BeanReference;
+import com.minispring.beans.factory.config.DependencyDescriptor;
 import com.minispring.beans.factory.config.Scope;
+import com.minispring.core.trace.ContainerTrace;
+import com.minispring.util.ClassUtils;
 
+import java.lang.reflect.Constructor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Default Listable Bean Factory Implementation
@@ -21,26 +46,228 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     /**
      * BeanDefinition container
      */
-    private final Map<String, BeanDefinition> beanDefinitionMap = new HashMap<>();
+    private final Map<String, BeanDefinition> beanDefinitionMap = new ConcurrentHashMap<>(256);
+    
+    /**
+     * Bean names in registration order, guarded by beanDefinitionMap on writes
+     */
+    private final ArrayList<String> beanDefinitionNames = new ArrayList<>(256);
+    
+    /**
+     * Immutable snapshot of the registry, set once the configuration is frozen
+     */
+    private volatile FrozenBeanDefinitionTable frozenBeanDefinitions;
+    
+    /**
+     * Incremented on every registration, cached constructor plans resolved against older versions are discarded
+     */
+    private volatile int beanDefinitionRegistryVersion;
+    
+    /**
+     * Index from every superclass and interface of a registered bean class to the bean names
+     */
+    private final Map<Class<?>, Set<String>> beanNamesByAssignableType = new ConcurrentHashMap<>(64);
+    
+    /**
+     * Resolved bean names per requested type, invalidated per affected type on registration
+     */
+    private final Map<Class<?>, String[]> beanNamesByTypeCache = new ConcurrentHashMap<>(64);
     
     /**
      * Parent BeanFactory
      */
-    private BeanFactory parentBeanFactory;
+    private volatile BeanFactory parentBeanFactory;
+    
+    /** Names of beans the parent factory resolved because they are neither defined nor registered locally */
+    private final Set<String> parentBeanNames = ConcurrentHashMap.newKeySet(16);
     
     /**
      * Scope container
      */
     private final Map<String, Scope> scopes = new ConcurrentHashMap<>(8);
+    
+    /**
+     * Whether preInstantiateSingletons creates independent singletons concurrently
+     */
+    private boolean parallelPreInstantiation = false;
+    
+    /**
+     * Executor for parallel pre-instantiation, the common ForkJoinPool if not set
+     */
+    private Executor preInstantiationExecutor;
+    
+    /** Notified of every bean request, null if not listening */
+    private volatile Consumer<String> beanRequestListener;
+    
+    /** Dependency graph of the registered definitions, null until requested */
+    private volatile DependencyGraph dependencyGraph;
 
     @Override
     public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition) {
-        beanDefinitionMap.put(beanName, beanDefinition);
+        synchronized (this.beanDefinitionMap) {
+            assertNotFrozen(beanName);
+            BeanDefinition existingDefinition = beanDefinitionMap.put(beanName, beanDefinition);
+            if (existingDefinition != null) {
+                removeFromTypeIndex(beanName, existingDefinition.getBeanClass());
+                clearResolvedBeanDefinition(existingDefinition);
+            } else {
+                beanDefinitionNames.add(beanName);
+            }
+            addToTypeIndex(beanName, beanDefinition.getBeanClass());
+            parentBeanNames.remove(beanName);
+            beanDefinitionRegistryVersion++;
+        }
+    }
+    
+    /**
+     * Register a bean created by a supplier instead of reflective constructor resolution
+     * Properties, aware callbacks, init methods and post-processors are still applied
+     * 
+     * @param beanName bean name
+     * @param beanClass bean class, used for type lookups
+     * @param supplier creates the bean instance
+     * @param customizers adjust the definition before registration, e.g. scope or init method
+     * @param <T> bean type
+     */
+    public <T> void registerBean(String beanName, Class<T> beanClass, Supplier<T> supplier,
+                                 BeanDefinitionCustomizer... customizers) {
+        BeanDefinition beanDefinition = new BeanDefinition(beanClass);
+        beanDefinition.setInstanceSupplier(supplier);
+        for (BeanDefinitionCustomizer customizer : customizers) {
+            customizer.customize(beanDefinition);
+        }
+        registerBeanDefinition(beanName, beanDefinition);
+    }
+    
+    /**
+     * Register many bean definitions at once
+     * Presizes the registry and builds the type index once for the whole batch instead of per insert
+     * 
+     * @param beanDefinitions bean definitions by bean name, registered in iteration order
+     */
+    public void registerBeanDefinitions(Map<String, BeanDefinition> beanDefinitions) {
+        synchronized (this.beanDefinitionMap) {
+            assertNotFrozen(null);
+            // Replaced names keep their position, like registerBeanDefinition, only new names are appended
+            List<String> newBeanNames = new ArrayList<>(beanDefinitions.size());
+            for (Map.Entry<String, BeanDefinition> entry : beanDefinitions.entrySet()) {
+                BeanDefinition existingDefinition = beanDefinitionMap.get(entry.getKey());
+                if (existingDefinition != null) {
+                    removeFromTypeIndex(entry.getKey(), existingDefinition.getBeanClass());
+                    clearResolvedBeanDefinition(existingDefinition);
+                } else {
+                    newBeanNames.add(entry.getKey());
+                }
+            }
+            
+            // ConcurrentHashMap.putAll presizes the table for the incoming entries
+            beanDefinitionMap.putAll(beanDefinitions);
+            beanDefinitionNames.ensureCapacity(beanDefinitionNames.size() + newBeanNames.size());
+            beanDefinitionNames.addAll(newBeanNames);
+            
+            // Group names per assignable type first, resolving the type hierarchy once per distinct class
+            Map<Class<?>, Set<Class<?>>> assignableTypesByClass = new HashMap<>();
+            Map<Class<?>, List<String>> beanNamesByType = new HashMap<>();
+            for (Map.Entry<String, BeanDefinition> entry : beanDefinitions.entrySet()) {
+                Set<Class<?>> assignableTypes = assignableTypesByClass.computeIfAbsent(
+                        entry.getValue().getBeanClass(), ClassUtils::getAllAssignableTypes);
+                for (Class<?> type : assignableTypes) {
+                    beanNamesByType.computeIfAbsent(type, key -> new ArrayList<>()).add(entry.getKey());
+                }
+            }
+            for (Map.Entry<Class<?>, List<String>> entry : beanNamesByType.entrySet()) {
+                beanNamesByAssignableType.computeIfAbsent(entry.getKey(), key -> ConcurrentHashMap.newKeySet())
+                        .addAll(entry.getValue());
+                beanNamesByTypeCache.remove(entry.getKey());
+            }
+            parentBeanNames.removeAll(beanDefinitions.keySet());
+            beanDefinitionRegistryVersion++;
+        }
+    }
+    
+    /**
+     * Freeze the bean definition registry
+     * Turns the registry into an immutable array-backed table that is read without locks,
+     * further registrations are rejected
+     */
+    @Override
+    public void freezeConfiguration() {
+        synchronized (this.beanDefinitionMap) {
+            if (this.frozenBeanDefinitions == null) {
+                this.frozenBeanDefinitions = new FrozenBeanDefinitionTable(beanDefinitionNames, beanDefinitionMap);
+            }
+        }
+    }
+    
+    /**
+     * Check if the bean definition registry is frozen
+     * 
+     * @return whether configuration is frozen
+     */
+    @Override
+    public boolean isConfigurationFrozen() {
+        return this.frozenBeanDefinitions != null;
+    }
+    
+    @Override
+    protected int getBeanDefinitionRegistryVersion() {
+        return this.beanDefinitionRegistryVersion;
+    }
+    
+    @Override
+    protected void beanRequested(String beanName) {
+        Consumer<String> listener = this.beanRequestListener;
+        if (listener != null) {
+            listener.accept(beanName);
+        }
+    }
+    
+    @Override
+    protected boolean isDelegatedToParent(String beanName) {
+        return this.parentBeanFactory != null
+                && (this.parentBeanNames.contains(beanName) || !containsLocalBean(beanName));
+    }
+    
+    private void assertNotFrozen(String beanName) {
+        if (this.frozenBeanDefinitions != null) {
+            throw new BeansException("Cannot register bean definition" + (beanName != null ? " '" + beanName + "'" : "s")
+                    + ": bean factory configuration is frozen");
+        }
+    }
+    
+    /**
+     * Add bean name to the type index under all types its class is assignable to
+     * 
+     * @param beanName bean name
+     * @param beanClass bean class
+     */
+    private void addToTypeIndex(String beanName, Class<?> beanClass) {
+        for (Class<?> type : ClassUtils.getAllAssignableTypes(beanClass)) {
+            beanNamesByAssignableType.computeIfAbsent(type, key -> ConcurrentHashMap.newKeySet()).add(beanName);
+            beanNamesByTypeCache.remove(type);
+        }
+    }
+    
+    /**
+     * Remove bean name from the type index under all types its class is assignable to
+     * 
+     * @param beanName bean name
+     * @param beanClass bean class
+     */
+    private void removeFromTypeIndex(String beanName, Class<?> beanClass) {
+        for (Class<?> type : ClassUtils.getAllAssignableTypes(beanClass)) {
+            Set<String> beanNames = beanNamesByAssignableType.get(type);
+            if (beanNames != null) {
+                beanNames.remove(beanName);
+            }
+            beanNamesByTypeCache.remove(type);
+        }
     }
 
     @Override
     public BeanDefinition getBeanDefinition(String beanName) throws BeansException {
-        BeanDefinition beanDefinition = beanDefinitionMap.get(beanName);
+        FrozenBeanDefinitionTable frozen = this.frozenBeanDefinitions;
+        BeanDefinition beanDefinition = frozen != null ? frozen.get(beanName) : beanDefinitionMap.get(beanName);
         if (beanDefinition == null) {
             throw new BeansException("No BeanDefinition found for bean named '" + beanName + "'");
         }
@@ -49,12 +276,19 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     @Override
     public boolean containsBeanDefinition(String beanName) {
-        return beanDefinitionMap.containsKey(beanName);
+        FrozenBeanDefinitionTable frozen = this.frozenBeanDefinitions;
+        return frozen != null ? frozen.contains(beanName) : beanDefinitionMap.containsKey(beanName);
     }
 
     @Override
     public String[] getBeanDefinitionNames() {
-        return beanDefinitionMap.keySet().toArray(new String[0]);
+        FrozenBeanDefinitionTable frozen = this.frozenBeanDefinitions;
+        if (frozen != null) {
+            return frozen.getBeanNames().clone();
+        }
+        synchronized (this.beanDefinitionMap) {
+            return beanDefinitionNames.toArray(new String[0]);
+        }
     }
 
     /**
@@ -63,10 +297,29 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      * @return array of bean names
      */
     public String[] getBeanNamesForType(Class<?> type) {
-        return beanDefinitionMap.entrySet().stream()
-                .filter(entry -> type.isAssignableFrom(entry.getValue().getBeanClass()))
-                .map(Map.Entry::getKey)
-                .toArray(String[]::new);
+        return getBeanNamesForTypeInternal(type).clone();
+    }
+    
+    /**
+     * Get bean names for a specific type without copying
+     * The returned array is shared and must not be modified
+     * 
+     * @param type bean type
+     * @return array of bean names
+     */
+    String[] getBeanNamesForTypeInternal(Class<?> type) {
+        String[] cached = beanNamesByTypeCache.get(type);
+        if (cached != null) {
+            return cached;
+        }
+        // Read the index and cache the result under the registration lock, otherwise a registration
+        // between the two steps could invalidate the type before the stale result is cached
+        synchronized (this.beanDefinitionMap) {
+            return beanNamesByTypeCache.computeIfAbsent(type, key -> {
+                Set<String> beanNames = beanNamesByAssignableType.get(key);
+                return beanNames != null ? beanNames.toArray(new String[0]) : new String[0];
+            });
+        }
     }
     
     /**
@@ -78,8 +331,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      */
     @Override
     public <T> T getBean(Class<T> requiredType) throws BeansException {
-        String[] beanNames = getBeanNamesForType(requiredType);
+        String[] beanNames = getBeanNamesForTypeInternal(requiredType);
         if (beanNames.length == 0) {
+            BeanFactory parent = this.parentBeanFactory;
+            if (parent != null) {
+                return parent.getBean(requiredType);
+            }
             throw new BeansException("No bean found of type '" + requiredType.getName() + "'");
         }
         if (beanNames.length > 1) {
@@ -88,37 +345,345 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         return getBean(beanNames[0], requiredType);
     }
 
+    /**
+     * Get resolved handle to the bean of a type
+     * Falls back to the parent factory if no local bean definition has the type
+     * @param requiredType bean type
+     * @param <T> bean type
+     * @return bean handle
+     * @throws BeansException if no unique bean of the type exists
+     */
+    @Override
+    public <T> BeanHandle<T> getBeanHandle(Class<T> requiredType) throws BeansException {
+        String[] beanNames = getBeanNamesForTypeInternal(requiredType);
+        if (beanNames.length == 0) {
+            BeanFactory parent = this.parentBeanFactory;
+            if (parent != null) {
+                return parent.getBeanHandle(requiredType);
+            }
+            throw new BeansException("No bean found of type '" + requiredType.getName() + "'");
+        }
+        if (beanNames.length > 1) {
+            throw new BeansException("Found multiple beans of type '" + requiredType.getName() + "': " + String.join(", ", beanNames));
+        }
+        return getBeanHandle(beanNames[0]);
+    }
+
     @Override
     public <T> Map<String, T> getBeansOfType(Class<T> type) throws BeansException {
         Map<String, T> result = new HashMap<>();
-        for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
-            String beanName = entry.getKey();
-            BeanDefinition beanDefinition = entry.getValue();
-            Class<?> beanClass = beanDefinition.getBeanClass();
-            
-            if (type.isAssignableFrom(beanClass)) {
-                T bean = (T) getBean(beanName);
-                result.put(beanName, bean);
-            }
+        for (String beanName : getBeanNamesForTypeInternal(type)) {
+            result.put(beanName, getBean(beanName, type));
         }
         return result;
     }
     
+    /**
+     * Pre-instantiate all non-lazy singleton beans
+     * Init callbacks of async-init definitions run on the async init executor meanwhile,
+     * this method returns once all of them completed
+     * 
+     * @throws BeansException if creation or any asynchronous initialization fails
+     */
     @Override
     public void preInstantiateSingletons() throws BeansException {
-        // Pre-instantiate all non-lazy singleton beans
+        preInstantiateSingletons(Arrays.asList(getBeanDefinitionNames()));
+    }
+    
+    /**
+     * Pre-instantiate the given non-lazy singleton beans, in the given order unless created in parallel
+     * 
+     * @param beanNames names of beans to create
+     * @throws BeansException if creation or any asynchronous initialization fails
+     */
+    @Override
+    public void preInstantiateSingletons(Collection<String> beanNames) throws BeansException {
+        Set<String> singletonNames = new LinkedHashSet<>();
+        for (String beanName : beanNames) {
+            if (containsBeanDefinition(beanName)) {
+                BeanDefinition beanDefinition = getBeanDefinition(beanName);
+                if (beanDefinition.isSingleton() && !beanDefinition.isLazyInit()) {
+                    singletonNames.add(beanName);
+                }
+            }
+        }
+        
+        setAsyncInitActive(true);
+        try {
+            if (this.parallelPreInstantiation) {
+                preInstantiateSingletonsInParallel(singletonNames);
+            } else {
+                for (String beanName : singletonNames) {
+                    preInstantiateSingleton(beanName);
+                }
+            }
+        } finally {
+            setAsyncInitActive(false);
+        }
+        
+        // Barrier: all asynchronous init callbacks have completed before the factory is considered ready
+        awaitAsyncInitialization();
+    }
+    
+    /**
+     * Set whether preInstantiateSingletons creates independent singletons concurrently
+     * Enabling it also switches singleton creation to per-bean locks
+     * 
+     * @param parallelPreInstantiation whether to pre-instantiate in parallel
+     */
+    public void setParallelPreInstantiation(boolean parallelPreInstantiation) {
+        this.parallelPreInstantiation = parallelPreInstantiation;
+        if (parallelPreInstantiation) {
+            setPerBeanCreationLock(true);
+        }
+    }
+    
+    /**
+     * Check if preInstantiateSingletons creates independent singletons concurrently
+     * 
+     * @return whether parallel pre-instantiation is enabled
+     */
+    public boolean isParallelPreInstantiation() {
+        return this.parallelPreInstantiation;
+    }
+    
+    /**
+     * Set listener notified with the name of every requested bean, e.g. to record bean usage
+     * Called on the requesting thread for each lookup, including lookups of dependencies
+     * 
+     * @param beanRequestListener listener, null to stop listening
+     */
+    public void setBeanRequestListener(Consumer<String> beanRequestListener) {
+        this.beanRequestListener = beanRequestListener;
+    }
+    
+    /**
+     * Set executor for parallel pre-instantiation, e.g. a virtual thread executor
+     * 
+     * @param preInstantiationExecutor executor, null for the common ForkJoinPool
+     */
+    public void setPreInstantiationExecutor(Executor preInstantiationExecutor) {
+        this.preInstantiationExecutor = preInstantiationExecutor;
+    }
+    
+    /**
+     * Pre-instantiate singletons in dependency order, creating independent beans concurrently
+     * Beans that take part in (or depend on) a circular reference are created afterwards on the
+     * calling thread, where the three-level cache resolves the cycle as usual
+     * 
+     * @param singletonNames names of the eager singletons to create
+     * @throws BeansException the first error thrown by any creation branch
+     */
+    protected void preInstantiateSingletonsInParallel(Set<String> singletonNames) throws BeansException {
+        // Build dependency DAG between eager singleton definitions, lazy dependencies are created on demand
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        DependencyGraph graph = getDependencyGraph();
+        for (String beanName : singletonNames) {
+            Set<String> beanDependencies = new LinkedHashSet<>(graph.getDependencies(beanName));
+            beanDependencies.retainAll(singletonNames);
+            beanDependencies.remove(beanName);
+            dependencies.put(beanName, beanDependencies);
+            for (String dependency : beanDependencies) {
+                dependents.computeIfAbsent(dependency, name -> new ArrayList<>()).add(beanName);
+            }
+        }
+        
+        // Kahn's algorithm, beans never reaching zero in-degree are part of or behind a cycle
+        Map<String, Integer> inDegrees = new HashMap<>();
+        Deque<String> queue = new ArrayDeque<>();
+        for (String beanName : singletonNames) {
+            int inDegree = dependencies.get(beanName).size();
+            inDegrees.put(beanName, inDegree);
+            if (inDegree == 0) {
+                queue.add(beanName);
+            }
+        }
+        Set<String> acyclicNames = new HashSet<>();
+        while (!queue.isEmpty()) {
+            String beanName = queue.poll();
+            acyclicNames.add(beanName);
+            for (String dependent : dependents.getOrDefault(beanName, Collections.emptyList())) {
+                if (inDegrees.merge(dependent, -1, Integer::sum) == 0) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        
+        Executor executor = this.preInstantiationExecutor != null ? this.preInstantiationExecutor : ForkJoinPool.commonPool();
+        new ParallelSingletonInstantiation(acyclicNames, dependencies, dependents, executor).run();
+        
+        // Remaining beans are in cycles, create them sequentially
+        for (String beanName : singletonNames) {
+            if (!acyclicNames.contains(beanName)) {
+                preInstantiateSingleton(beanName);
+            }
+        }
+    }
+    
+    /**
+     * Determine names of beans the given bean depends on
+     * Collects non-lazy bean references in property values, the beans autowiring would pass to the
+     * constructor and the beans injected into autowired fields and methods, each matched the way
+     * the constructor resolver matches them at creation time
+     * 
+     * @param beanName bean name
+     * @param beanDefinition bean definition
+     * @return names of dependencies, may contain names that are not singleton definitions
+     */
+    protected Set<String> determineDependencies(String beanName, BeanDefinition beanDefinition) {
+        Set<String> dependencies = new LinkedHashSet<>();
+        for (PropertyValue propertyValue : beanDefinition.getPropertyValues().getPropertyValues()) {
+            if (propertyValue.getValue() instanceof BeanReference && !((BeanReference) propertyValue.getValue()).isLazy()) {
+                dependencies.add(((BeanReference) propertyValue.getValue()).getBeanName());
+            }
+        }
+        
+        ConstructorResolver constructorResolver = getConstructorResolver();
+        if (beanDefinition.getInstanceSupplier() == null) {
+            dependencies.addAll(constructorResolver.predictConstructorDependencies(beanDefinition));
+        }
+        for (DependencyDescriptor descriptor : InjectionMetadata.forClass(beanDefinition.getBeanClass()).getDependencyDescriptors()) {
+            String dependency = constructorResolver.predictDependency(descriptor);
+            if (dependency != null) {
+                dependencies.add(dependency);
+            }
+        }
+        return dependencies;
+    }
+    
+    /**
+     * Determine beans that must be passed to the constructor of the given bean
+     * Only classes with a single constructor qualify, others can fall back to another constructor at creation time;
+     * each parameter is matched like autowiring does
+     * 
+     * @param beanName bean name
+     * @param beanDefinition bean definition
+     * @return names of required constructor dependencies
+     */
+    protected Set<String> determineConstructorDependencies(String beanName, BeanDefinition beanDefinition) {
+        if (beanDefinition.getInstanceSupplier() != null) {
+            // Dependencies fetched inside a supplier are not visible to static analysis
+            return Collections.emptySet();
+        }
+        Constructor<?>[] constructors = beanDefinition.getBeanClass().getDeclaredConstructors();
+        if (constructors.length != 1 || constructors[0].getParameterCount() == 0) {
+            return Collections.emptySet();
+        }
+        return getConstructorResolver().predictConstructorDependencies(beanDefinition);
+    }
+    
+    /**
+     * Get static dependency graph of the registered bean definitions
+     * Built on first request and rebuilt when bean definitions change; applications build it once
+     * bean factory post-processors have run, so unresolvable cycles are reported before any bean is created
+     * 
+     * @return dependency graph
+     * @throws BeansException if required constructor dependencies form a cycle
+     */
+    public DependencyGraph getDependencyGraph() throws BeansException {
+        int registryVersion = getBeanDefinitionRegistryVersion();
+        DependencyGraph graph = this.dependencyGraph;
+        if (graph != null && graph.getRegistryVersion() == registryVersion) {
+            return graph;
+        }
+        
+        Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+        Map<String, Set<String>> constructorDependencies = new LinkedHashMap<>();
         for (String beanName : getBeanDefinitionNames()) {
             BeanDefinition beanDefinition = getBeanDefinition(beanName);
-            if (beanDefinition.isSingleton()) {
-                getBean(beanName);
+            dependencies.put(beanName, determineDependencies(beanName, beanDefinition));
+            constructorDependencies.put(beanName, determineConstructorDependencies(beanName, beanDefinition));
+        }
+        graph = new DependencyGraph(dependencies, constructorDependencies, registryVersion);
+        if (ContainerTrace.isEnabled(DefaultListableBeanFactory.class)) {
+            for (List<String> cycle : graph.getCycles()) {
+                ContainerTrace.trace(DefaultListableBeanFactory.class, "Circular reference resolved through early references: {}", cycle);
+            }
+        }
+        this.dependencyGraph = graph;
+        return graph;
+    }
+    
+    /**
+     * One run of parallel singleton pre-instantiation over an acyclic dependency graph
+     * A bean is submitted once all of its dependencies have been created,
+     * the first failure completes the run and stops further submissions
+     */
+    private class ParallelSingletonInstantiation {
+        
+        private final Set<String> beanNames;
+        private final Map<String, List<String>> dependents;
+        private final Executor executor;
+        private final Map<String, AtomicInteger> pendingDependencies = new HashMap<>();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        
+        ParallelSingletonInstantiation(Set<String> beanNames, Map<String, Set<String>> dependencies,
+                Map<String, List<String>> dependents, Executor executor) {
+            this.beanNames = beanNames;
+            this.dependents = dependents;
+            this.executor = executor;
+            this.remaining = new AtomicInteger(beanNames.size());
+            for (String beanName : beanNames) {
+                this.pendingDependencies.put(beanName, new AtomicInteger(dependencies.get(beanName).size()));
+            }
+        }
+        
+        void run() throws BeansException {
+            if (this.beanNames.isEmpty()) {
+                return;
+            }
+            for (String beanName : this.beanNames) {
+                if (this.pendingDependencies.get(beanName).get() == 0) {
+                    submit(beanName);
+                }
+            }
+            try {
+                this.completion.join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                if (cause instanceof BeansException) {
+                    throw (BeansException) cause;
+                }
+                throw new BeansException("Parallel singleton pre-instantiation failed", cause);
+            }
+        }
+        
+        private void submit(String beanName) {
+            try {
+                this.executor.execute(() -> create(beanName));
+            } catch (RuntimeException ex) {
+                this.completion.completeExceptionally(ex);
+            }
+        }
+        
+        private void create(String beanName) {
+            if (this.completion.isDone()) {
+                return;
+            }
+            try {
+                preInstantiateSingleton(beanName);
+            } catch (Throwable ex) {
+                this.completion.completeExceptionally(ex);
+                return;
+            }
+            for (String dependent : this.dependents.getOrDefault(beanName, Collections.emptyList())) {
+                AtomicInteger pending = this.pendingDependencies.get(dependent);
+                if (pending != null && pending.decrementAndGet() == 0) {
+                    submit(dependent);
+                }
+            }
+            if (this.remaining.decrementAndGet() == 0) {
+                this.completion.complete(null);
             }
         }
     }
     
     @Override
     public void autowireBean(Object existingBean, String beanName) throws BeansException {
-        // Simple implementation, actual autowiring is more complex
-        System.out.println("Autowiring bean: " + beanName);
+        ContainerTrace.trace(DefaultListableBeanFactory.class, "Autowiring bean: {}", beanName);
+        injectAutowiredMembers(beanName, existingBean);
     }
     
     @Override
@@ -138,30 +703,95 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     
     /**
      * Set parent BeanFactory
+     * Beans that are neither defined nor registered locally are obtained from the parent
      * 
      * @param parentBeanFactory parent BeanFactory
      */
     public void setParentBeanFactory(BeanFactory parentBeanFactory) {
         this.parentBeanFactory = parentBeanFactory;
+        this.parentBeanNames.clear();
     }
 
     @Override
     public boolean containsLocalBean(String name) {
-        return containsBeanDefinition(name);
+        return containsSingleton(name) || containsBeanDefinition(name);
+    }
+    
+    @Override
+    public boolean containsBean(String name) {
+        if (containsLocalBean(name)) {
+            return true;
+        }
+        BeanFactory parent = this.parentBeanFactory;
+        return parent != null && parent.containsBean(name);
+    }
+    
+    /**
+     * Get bean, delegating to the parent BeanFactory for beans unknown locally
+     * Names the parent resolved are remembered, so repeated lookups of parent beans skip the local lookup;
+     * misses are not remembered, so lookups of missing names cannot grow the cache
+     * 
+     * @param name bean name
+     * @param requiredType bean type
+     * @param args constructor arguments
+     * @param <T> bean type
+     * @return bean instance
+     * @throws BeansException if bean retrieval fails
+     */
+    @Override
+    protected <T> T doGetBean(String name, Class<T> requiredType, Object[] args) throws BeansException {
+        beanRequested(name);
+        BeanFactory parent = this.parentBeanFactory;
+        if (parent != null) {
+            boolean knownParentBean = this.parentBeanNames.contains(name);
+            int registryVersion = this.beanDefinitionRegistryVersion;
+            if (knownParentBean || !containsLocalBean(name)) {
+                ContainerTrace.trace(DefaultListableBeanFactory.class, "Delegating lookup of bean [{}] to parent factory", name);
+                T bean = getParentBean(parent, name, requiredType, args);
+                if (!knownParentBean) {
+                    this.parentBeanNames.add(name);
+                    if (registryVersion != this.beanDefinitionRegistryVersion) {
+                        // A local definition may have been registered meanwhile, do not let the entry shadow it
+                        this.parentBeanNames.remove(name);
+                    }
+                }
+                return bean;
+            }
+        }
+        return super.doGetBean(name, requiredType, args);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T getParentBean(BeanFactory parent, String name, Class<T> requiredType, Object[] args) {
+        if (args != null) {
+            return (T) parent.getBean(name, args);
+        }
+        return requiredType != null ? parent.getBean(name, requiredType) : (T) parent.getBean(name);
+    }
+    
+    @Override
+    public void registerSingleton(String beanName, Object singletonObject) {
+        super.registerSingleton(beanName, singletonObject);
+        this.parentBeanNames.remove(beanName);
     }
     
     @Override
     public Class<?> getType(String name) throws BeansException {
-        BeanDefinition beanDefinition = getBeanDefinition(name);
-        if (beanDefinition != null) {
-            return beanDefinition.getBeanClass();
+        if (containsBeanDefinition(name)) {
+            return getBeanDefinition(name).getBeanClass();
+        }
+        Object singleton = getSingleton(name);
+        if (singleton != null) {
+            return singleton.getClass();
         }
         
         // If not found in current factory, try to get from parent factory
-        if (this.parentBeanFactory != null) {
-            if (this.parentBeanFactory instanceof ConfigurableListableBeanFactory) {
-                return ((ConfigurableListableBeanFactory) this.parentBeanFactory).getType(name);
-            }
+        BeanFactory parent = this.parentBeanFactory;
+        if (parent instanceof ConfigurableListableBeanFactory) {
+            return ((ConfigurableListableBeanFactory) parent).getType(name);
+        }
+        if (parent != null && parent.containsBean(name)) {
+            return parent.getBean(name).getClass();
         }
         
         throw new BeansException("No bean definition found for bean named '" + name + "'");
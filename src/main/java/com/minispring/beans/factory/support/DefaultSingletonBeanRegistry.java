@@ -4,12 +4,31 @@ import com.minispring.beans.BeansException;
 import com.minispring.beans.factory.DisposableBean;
 import com.minispring.beans.factory.ObjectFactory;
 import com.minispring.beans.factory.config.SingletonBeanRegistry;
+import com.minispring.core.trace.ContainerTrace;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Default Singleton Bean Registry Implementation
@@ -31,10 +50,138 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
     
     /**
      * Container for beans that need to be destroyed
-     * Using LinkedHashMap to ensure destruction order is reverse of registration order
+     * Using LinkedHashMap to ensure destruction order is reverse of registration order,
+     * every access synchronizes on the map since beans may be registered by concurrent creations
      */
     private final Map<String, DisposableBean> disposableBeans = new LinkedHashMap<>();
 
+    /** Interval for re-checking cross-thread cycles while waiting on a per-bean creation lock */
+    private static final long CREATION_LOCK_POLL_MILLIS = 10;
+
+    /**
+     * Whether singleton creation locks per bean name instead of holding the singletonObjects monitor
+     * for the whole creation. Uses ReentrantLock so waiting threads never pin virtual threads.
+     */
+    private volatile boolean perBeanCreationLock = false;
+
+    /** Per-bean creation locks, only used in per-bean creation lock mode */
+    private final Map<String, ReentrantLock> singletonCreationLocks = new ConcurrentHashMap<>(64);
+
+    /** Thread currently creating each singleton, used for cross-thread cycle detection */
+    private final Map<String, Thread> singletonCreationOwners = new ConcurrentHashMap<>(16);
+
+    /** Singleton each thread is currently waiting to create */
+    private final Map<Thread, String> singletonCreationWaits = new ConcurrentHashMap<>(16);
+
+    /** Names of the beans depending on each bean, dependents are destroyed first */
+    private final Map<String, Set<String>> dependentBeanMap = new ConcurrentHashMap<>(64);
+
+    /** Whether destroySingletons destroys independent beans concurrently */
+    private volatile boolean parallelDestruction = false;
+
+    /** Executor for parallel destruction, null for a temporary cached thread pool */
+    private volatile Executor destructionExecutor;
+
+    /** Maximum time a single bean may take to be destroyed in parallel mode, null for no limit */
+    private volatile Duration beanDestructionTimeout;
+
+    /** Maximum time destroySingletons waits in parallel mode, null for no limit */
+    private volatile Duration destructionTimeout;
+
+    /**
+     * Set whether singletons are created under a per-bean lock
+     * When enabled, unrelated singletons can be created concurrently by different threads
+     * 
+     * @param perBeanCreationLock whether to lock per bean
+     */
+    public void setPerBeanCreationLock(boolean perBeanCreationLock) {
+        this.perBeanCreationLock = perBeanCreationLock;
+    }
+
+    /**
+     * Check if singletons are created under a per-bean lock
+     * 
+     * @return whether per-bean creation lock mode is enabled
+     */
+    public boolean isPerBeanCreationLock() {
+        return this.perBeanCreationLock;
+    }
+
+    /**
+     * Set whether destroySingletons destroys independent beans concurrently
+     * Dependents are always destroyed before the beans they depend on; failures and timeouts are
+     * collected and reported together once every bean had its chance to be destroyed
+     * 
+     * @param parallelDestruction whether to destroy in parallel
+     */
+    public void setParallelDestruction(boolean parallelDestruction) {
+        this.parallelDestruction = parallelDestruction;
+    }
+
+    /**
+     * Check if destroySingletons destroys independent beans concurrently
+     * 
+     * @return whether parallel destruction is enabled
+     */
+    public boolean isParallelDestruction() {
+        return this.parallelDestruction;
+    }
+
+    /**
+     * Set executor for parallel destruction
+     * 
+     * @param destructionExecutor executor, null for a temporary cached thread pool
+     */
+    public void setDestructionExecutor(Executor destructionExecutor) {
+        this.destructionExecutor = destructionExecutor;
+    }
+
+    /**
+     * Set maximum time a single bean may take to be destroyed in parallel mode
+     * A bean exceeding it is reported as failed, the thread running its destroy callback is interrupted
+     * and its dependencies are destroyed without waiting for it
+     * 
+     * @param beanDestructionTimeout timeout, null for no limit
+     */
+    public void setBeanDestructionTimeout(Duration beanDestructionTimeout) {
+        this.beanDestructionTimeout = beanDestructionTimeout;
+    }
+
+    /**
+     * Set maximum time destroySingletons waits for all beans in parallel mode
+     * Beans not destroyed in time are reported as failed: running destroy callbacks are interrupted and
+     * beans not started yet are skipped. A callback that ignores interruption keeps running in the background
+     * after destroySingletons returned, while the singleton caches are already cleared
+     * 
+     * @param destructionTimeout timeout, null for no limit
+     */
+    public void setDestructionTimeout(Duration destructionTimeout) {
+        this.destructionTimeout = destructionTimeout;
+    }
+
+    /**
+     * Register that a bean depends on another bean
+     * 
+     * @param beanName name of the bean depended on
+     * @param dependentBeanName name of the depending bean
+     */
+    public void registerDependentBean(String beanName, String dependentBeanName) {
+        if (!beanName.equals(dependentBeanName)) {
+            this.dependentBeanMap.computeIfAbsent(beanName, name -> ConcurrentHashMap.newKeySet()).add(dependentBeanName);
+        }
+    }
+
+    /**
+     * Get names of the beans depending on a bean
+     * 
+     * @param beanName bean name
+     * @return names of dependent beans, empty if none
+     */
+    public String[] getDependentBeans(String beanName) {
+        Set<String> dependentBeans = this.dependentBeanMap.get(beanName);
+        return dependentBeans != null ? dependentBeans.toArray(new String[0]) : new String[0];
+    }
+
     /**
      * Get singleton bean
      * Implements three-level cache lookup
@@ -44,11 +191,26 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      */
     @Override
     public Object getSingleton(String beanName) {
+        // In per-bean lock mode, only the creating thread may see the early reference,
+        // other threads wait on the creation lock instead of observing a half-initialized bean
+        boolean allowEarlyReference = !this.perBeanCreationLock
+                || this.singletonCreationOwners.get(beanName) == Thread.currentThread();
+        return getSingleton(beanName, allowEarlyReference);
+    }
+    
+    /**
+     * Get singleton bean through the three-level cache
+     * 
+     * @param beanName bean name
+     * @param allowEarlyReference whether to look into the second and third level caches
+     * @return singleton bean object, returns null if not found
+     */
+    protected Object getSingleton(String beanName, boolean allowEarlyReference) {
         // First try to get from first-level cache
         Object singletonObject = singletonObjects.get(beanName);
         
         // If not in first-level cache and bean is currently in creation (possible circular dependency)
-        if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
+        if (singletonObject == null && allowEarlyReference && isSingletonCurrentlyInCreation(beanName)) {
             synchronized (this.singletonObjects) {
                 // Try to get from second-level cache
                 singletonObject = earlySingletonObjects.get(beanName);
@@ -79,34 +241,138 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      * @return singleton bean
      */
     public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
-        synchronized (this.singletonObjects) {
-            // First check first-level cache
-            Object singletonObject = this.singletonObjects.get(beanName);
+        if (!this.perBeanCreationLock) {
+            synchronized (this.singletonObjects) {
+                return createSingleton(beanName, singletonFactory);
+            }
+        }
+        
+        // Fast path, no lock needed for fully initialized singletons
+        Object singletonObject = this.singletonObjects.get(beanName);
+        if (singletonObject != null) {
+            return singletonObject;
+        }
+        
+        ReentrantLock lock = this.singletonCreationLocks.computeIfAbsent(beanName, name -> new ReentrantLock());
+        if (!acquireCreationLock(beanName, lock)) {
+            // Waiting would deadlock with the creating thread, resolve the cycle through the early reference
+            singletonObject = getSingleton(beanName, true);
             if (singletonObject == null) {
-                
-                // Mark bean as currently in creation
-                beforeSingletonCreation(beanName);
-                
-                boolean newSingleton = false;
+                throw new BeansException("Bean [" + beanName + "] is part of an unresolvable circular reference between creating threads");
+            }
+            return singletonObject;
+        }
+        
+        boolean outermost = lock.getHoldCount() == 1;
+        try {
+            if (outermost) {
+                this.singletonCreationOwners.put(beanName, Thread.currentThread());
+            }
+            return createSingleton(beanName, singletonFactory);
+        } finally {
+            if (outermost) {
+                this.singletonCreationOwners.remove(beanName);
+            }
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Create singleton if it is not in the first-level cache yet
+     * Caller must hold either the singletonObjects monitor or the bean's creation lock
+     * 
+     * @param beanName bean name
+     * @param singletonFactory bean factory
+     * @return singleton bean
+     */
+    private Object createSingleton(String beanName, ObjectFactory<?> singletonFactory) {
+        // First check first-level cache
+        Object singletonObject = this.singletonObjects.get(beanName);
+        if (singletonObject == null) {
+            
+            // Mark bean as currently in creation
+            beforeSingletonCreation(beanName);
+            
+            boolean newSingleton = false;
+            try {
+                // Create singleton using factory
+                singletonObject = singletonFactory.getObject();
+                newSingleton = true;
+            } catch (Exception ex) {
+                throw new BeansException("Failed to create singleton bean [" + beanName + "]", ex);
+            } finally {
+                // Clear in-creation mark
+                afterSingletonCreation(beanName);
+            }
+            
+            if (newSingleton) {
+                // Add created singleton to first-level cache and remove from second and third level caches
+                addSingleton(beanName, singletonObject);
+            }
+        }
+        
+        return singletonObject;
+    }
+    
+    /**
+     * Acquire the creation lock of a bean
+     * Waits until the lock is free, unless the owning thread is (transitively) waiting for the current thread
+     * 
+     * @param beanName bean name
+     * @param lock creation lock of the bean
+     * @return true if the lock was acquired, false if waiting would deadlock
+     */
+    private boolean acquireCreationLock(String beanName, ReentrantLock lock) {
+        if (lock.tryLock()) {
+            return true;
+        }
+        
+        Thread currentThread = Thread.currentThread();
+        this.singletonCreationWaits.put(currentThread, beanName);
+        try {
+            while (true) {
                 try {
-                    // Create singleton using factory
-                    singletonObject = singletonFactory.getObject();
-                    newSingleton = true;
-                } catch (Exception ex) {
-                    throw new BeansException("Failed to create singleton bean [" + beanName + "]", ex);
-                } finally {
-                    // Clear in-creation mark
-                    afterSingletonCreation(beanName);
+                    if (lock.tryLock(CREATION_LOCK_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                } catch (InterruptedException ex) {
+                    currentThread.interrupt();
+                    throw new BeansException("Interrupted while waiting for creation of bean [" + beanName + "]", ex);
                 }
-                
-                if (newSingleton) {
-                    // Add created singleton to first-level cache and remove from second and third level caches
-                    addSingleton(beanName, singletonObject);
+                if (isCreationDeadlock(beanName, currentThread)) {
+                    return false;
                 }
             }
-            
-            return singletonObject;
+        } finally {
+            this.singletonCreationWaits.remove(currentThread);
+        }
+    }
+    
+    /**
+     * Check if waiting for a bean would close a wait cycle back to the current thread
+     * Only beans still marked in singletonsCurrentlyInCreation take part in the cycle
+     * 
+     * @param beanName bean the current thread is waiting for
+     * @param currentThread current thread
+     * @return true if waiting would deadlock
+     */
+    private boolean isCreationDeadlock(String beanName, Thread currentThread) {
+        String waitingFor = beanName;
+        int maxSteps = this.singletonCreationOwners.size() + 1;
+        for (int i = 0; i < maxSteps && waitingFor != null; i++) {
+            if (!isSingletonCurrentlyInCreation(waitingFor)) {
+                return false;
+            }
+            Thread owner = this.singletonCreationOwners.get(waitingFor);
+            if (owner == null) {
+                return false;
+            }
+            if (owner == currentThread) {
+                return true;
+            }
+            waitingFor = this.singletonCreationWaits.get(owner);
         }
+        return false;
     }
     
     /**
@@ -123,6 +389,19 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
         }
     }
     
+    /**
+     * Replace a fully registered singleton
+     * Only touches the first-level cache and does not take the registry monitor, so it is safe to call
+     * while another thread holds the monitor and waits for the caller
+     * 
+     * @param beanName bean name
+     * @param singletonObject new singleton bean
+     * @return whether a singleton was registered under the name
+     */
+    protected boolean replaceSingleton(String beanName, Object singletonObject) {
+        return this.singletonObjects.replace(beanName, singletonObject) != null;
+    }
+    
     /**
      * Add singleton factory to third-level cache
      * 
@@ -186,21 +465,36 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      * @param bean bean that needs to be destroyed
      */
     public void registerDisposableBean(String beanName, DisposableBean bean) {
-        disposableBeans.put(beanName, bean);
+        synchronized (this.disposableBeans) {
+            this.disposableBeans.put(beanName, bean);
+        }
     }
     
     /**
      * Destroy singleton beans
-     * Destroy beans in reverse order of registration
+     * Destroy beans in reverse order of registration, or in parallel dependency order if enabled
      */
     public void destroySingletons() {
-        Set<String> beanNames = disposableBeans.keySet();
-        String[] disposableBeanNames = beanNames.toArray(new String[0]);
+        if (this.parallelDestruction) {
+            destroySingletonsInParallel();
+            return;
+        }
+        
+        String[] disposableBeanNames;
+        synchronized (this.disposableBeans) {
+            disposableBeanNames = this.disposableBeans.keySet().toArray(new String[0]);
+        }
         
         // Destroy beans in reverse order of registration
         for (int i = disposableBeanNames.length - 1; i >= 0; i--) {
             String beanName = disposableBeanNames[i];
-            DisposableBean disposableBean = disposableBeans.remove(beanName);
+            DisposableBean disposableBean;
+            synchronized (this.disposableBeans) {
+                disposableBean = this.disposableBeans.remove(beanName);
+            }
+            if (disposableBean == null) {
+                continue;
+            }
             try {
                 disposableBean.destroy();
             } catch (Exception e) {
@@ -209,10 +503,57 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
         }
         
         // Clear all caches
+        clearSingletonCaches();
+    }
+    
+    /**
+     * Destroy singleton beans concurrently, each bean once all beans depending on it are destroyed
+     * Beans in a circular dependency are destroyed afterwards in reverse order of registration
+     * 
+     * @throws BeansException listing every bean that failed or timed out, other beans are destroyed regardless
+     */
+    protected void destroySingletonsInParallel() throws BeansException {
+        Map<String, DisposableBean> beansToDestroy;
+        synchronized (this.disposableBeans) {
+            beansToDestroy = new LinkedHashMap<>(this.disposableBeans);
+            this.disposableBeans.clear();
+        }
+        
+        Executor executor = this.destructionExecutor;
+        ExecutorService temporaryExecutor = null;
+        if (executor == null) {
+            temporaryExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "singleton-destruction");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor = temporaryExecutor;
+        }
+        Map<String, Throwable> failures;
+        try {
+            failures = new ParallelSingletonDestruction(beansToDestroy, executor).run();
+        } finally {
+            if (temporaryExecutor != null) {
+                temporaryExecutor.shutdownNow();
+            }
+            clearSingletonCaches();
+        }
+        
+        if (!failures.isEmpty()) {
+            BeansException exception = new BeansException("Failed to destroy " + failures.size()
+                    + " singleton bean(s): " + String.join(", ", failures.keySet()), failures.values().iterator().next());
+            failures.values().stream().skip(1).forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+    
+    private void clearSingletonCaches() {
         this.singletonObjects.clear();
         this.earlySingletonObjects.clear();
         this.singletonFactories.clear();
         this.singletonsCurrentlyInCreation.clear();
+        this.singletonCreationLocks.clear();
+        this.dependentBeanMap.clear();
     }
 
     /**
@@ -239,4 +580,238 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
     protected int getSingletonCount() {
         return singletonObjects.size();
     }
-}
\ No newline at end of file
+
+    /**
+     * One run of parallel singleton destruction
+     * A bean is submitted once all disposable beans depending on it, directly or through beans without
+     * destroy callbacks, have been destroyed, failed or timed out
+     */
+    private class ParallelSingletonDestruction {
+
+        private final Map<String, DisposableBean> beans;
+        private final Executor executor;
+        private final Duration beanTimeout;
+        private final boolean hasDeadline;
+        private final long deadline;
+        private final Map<String, List<String>> dependencies = new HashMap<>();
+        private final Map<String, AtomicInteger> pendingDependents = new HashMap<>();
+        private final Set<String> finished = ConcurrentHashMap.newKeySet();
+        private final Map<String, Throwable> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private final Map<String, DestructionTask> tasks = new ConcurrentHashMap<>();
+        private volatile boolean abandoned;
+        private AtomicInteger remaining;
+
+        ParallelSingletonDestruction(Map<String, DisposableBean> beans, Executor executor) {
+            this.beans = beans;
+            this.executor = executor;
+            this.beanTimeout = beanDestructionTimeout;
+            Duration timeout = destructionTimeout;
+            this.hasDeadline = timeout != null;
+            this.deadline = timeout != null ? System.nanoTime() + timeout.toNanos() : 0L;
+        }
+
+        Map<String, Throwable> run() {
+            // Dependents of each disposable bean, looking through beans without destroy callbacks
+            Map<String, Set<String>> dependents = new HashMap<>();
+            for (String beanName : this.beans.keySet()) {
+                dependents.put(beanName, findDisposableDependents(beanName));
+            }
+            Set<String> acyclicNames = findAcyclicBeans(dependents);
+            for (String beanName : acyclicNames) {
+                this.pendingDependents.put(beanName, new AtomicInteger(dependents.get(beanName).size()));
+                for (String dependent : dependents.get(beanName)) {
+                    this.dependencies.computeIfAbsent(dependent, name -> new ArrayList<>()).add(beanName);
+                }
+            }
+
+            this.remaining = new AtomicInteger(acyclicNames.size());
+            if (acyclicNames.isEmpty()) {
+                this.completion.complete(null);
+            }
+            // Pick the beans without dependents up front, a finished bean already submits the beans it releases
+            List<String> initialNames = new ArrayList<>();
+            for (String beanName : acyclicNames) {
+                if (this.pendingDependents.get(beanName).get() == 0) {
+                    initialNames.add(beanName);
+                }
+            }
+            for (String beanName : initialNames) {
+                submit(beanName);
+            }
+            awaitUntilDeadline(this.completion);
+
+            // Beans in circular dependencies, one after another in reverse order of registration
+            List<String> cyclicNames = new ArrayList<>(this.beans.keySet());
+            cyclicNames.removeAll(acyclicNames);
+            Collections.reverse(cyclicNames);
+            for (String beanName : cyclicNames) {
+                if (this.hasDeadline && System.nanoTime() - this.deadline >= 0) {
+                    break;
+                }
+                awaitUntilDeadline(destroy(beanName));
+            }
+
+            // Past the deadline: skip beans not started yet and interrupt the running callbacks
+            this.abandoned = true;
+            for (DestructionTask task : this.tasks.values()) {
+                task.cancel();
+            }
+            for (String beanName : this.beans.keySet()) {
+                if (!this.finished.contains(beanName)) {
+                    this.failures.putIfAbsent(beanName, new TimeoutException("Destruction of bean [" + beanName
+                            + "] did not complete within the destruction timeout"));
+                }
+            }
+            synchronized (this.failures) {
+                return new LinkedHashMap<>(this.failures);
+            }
+        }
+
+        private Set<String> findDisposableDependents(String beanName) {
+            Set<String> disposableDependents = new LinkedHashSet<>();
+            Set<String> visited = new HashSet<>();
+            Deque<String> queue = new ArrayDeque<>();
+            queue.add(beanName);
+            while (!queue.isEmpty()) {
+                Set<String> directDependents = dependentBeanMap.get(queue.poll());
+                if (directDependents == null) {
+                    continue;
+                }
+                for (String dependent : directDependents) {
+                    if (dependent.equals(beanName) || !visited.add(dependent)) {
+                        continue;
+                    }
+                    if (this.beans.containsKey(dependent)) {
+                        disposableDependents.add(dependent);
+                    } else {
+                        queue.add(dependent);
+                    }
+                }
+            }
+            return disposableDependents;
+        }
+
+        /**
+         * Kahn's algorithm on the destruction order, beans never released are part of or behind a cycle
+         */
+        private Set<String> findAcyclicBeans(Map<String, Set<String>> dependents) {
+            Map<String, Integer> pending = new HashMap<>();
+            Map<String, List<String>> released = new HashMap<>();
+            Deque<String> queue = new ArrayDeque<>();
+            for (Map.Entry<String, Set<String>> entry : dependents.entrySet()) {
+                pending.put(entry.getKey(), entry.getValue().size());
+                for (String dependent : entry.getValue()) {
+                    released.computeIfAbsent(dependent, name -> new ArrayList<>()).add(entry.getKey());
+                }
+                if (entry.getValue().isEmpty()) {
+                    queue.add(entry.getKey());
+                }
+            }
+            Set<String> acyclicNames = new LinkedHashSet<>();
+            while (!queue.isEmpty()) {
+                String beanName = queue.poll();
+                acyclicNames.add(beanName);
+                for (String dependency : released.getOrDefault(beanName, Collections.emptyList())) {
+                    if (pending.merge(dependency, -1, Integer::sum) == 0) {
+                        queue.add(dependency);
+                    }
+                }
+            }
+            return acyclicNames;
+        }
+
+        private void submit(String beanName) {
+            destroy(beanName).whenComplete((result, ex) -> {
+                for (String dependency : this.dependencies.getOrDefault(beanName, Collections.emptyList())) {
+                    if (this.pendingDependents.get(dependency).decrementAndGet() == 0) {
+                        submit(dependency);
+                    }
+                }
+                if (this.remaining.decrementAndGet() == 0) {
+                    this.completion.complete(null);
+                }
+            });
+        }
+
+        private CompletableFuture<Void> destroy(String beanName) {
+            DestructionTask task = new DestructionTask(this.beans.get(beanName));
+            this.tasks.put(beanName, task);
+            CompletableFuture<Void> future = CompletableFuture.runAsync(task, this.executor);
+            if (this.beanTimeout != null) {
+                future = future.orTimeout(this.beanTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            return future.whenComplete((result, ex) -> {
+                this.tasks.remove(beanName);
+                if (ex != null) {
+                    task.cancel();
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    this.failures.put(beanName, new BeansException("Exception occurred while destroying bean [" + beanName + "]", cause));
+                    ContainerTrace.error(DefaultSingletonBeanRegistry.class, "Failed to destroy bean [" + beanName + "]", cause);
+                }
+                this.finished.add(beanName);
+            });
+        }
+
+        private void awaitUntilDeadline(CompletableFuture<Void> future) {
+            try {
+                if (!this.hasDeadline) {
+                    future.get();
+                } else {
+                    future.get(Math.max(0, this.deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                // Failures are recorded per bean, unfinished beans are reported by the caller
+            }
+        }
+
+        /**
+         * Destroy callback of one bean, can be cancelled before it starts or interrupted while it runs
+         */
+        private final class DestructionTask implements Runnable {
+
+            private final DisposableBean disposableBean;
+
+            /** Thread running the callback, guarded by this task */
+            private Thread runner;
+
+            /** Whether the task was cancelled or has finished, guarded by this task */
+            private boolean closed;
+
+            DestructionTask(DisposableBean disposableBean) {
+                this.disposableBean = disposableBean;
+            }
+
+            @Override
+            public void run() {
+                synchronized (this) {
+                    if (this.closed || abandoned) {
+                        throw new CompletionException(new TimeoutException("Destruction skipped, the destruction timeout has passed"));
+                    }
+                    this.runner = Thread.currentThread();
+                }
+                try {
+                    this.disposableBean.destroy();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                } finally {
+                    synchronized (this) {
+                        this.closed = true;
+                        this.runner = null;
+                        // Do not leak an interrupt from cancel() to the next task of the pool thread
+                        Thread.interrupted();
+                    }
+                }
+            }
+
+            synchronized void cancel() {
+                if (this.runner != null) {
+                    this.runner.interrupt();
+                }
+                this.closed = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.minispring.beans.factory.support;
+
+import com.minispring.beans.BeansException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dependency Graph
+ * Static dependency graph between bean definitions, built from property references and constructor parameters
+ * Beans are grouped into strongly connected components, giving a topological order (dependencies first)
+ * and a creation depth per bean; members of a circular reference share their component's depth
+ * Circular references made only of required constructor dependencies cannot be resolved by the
+ * three-level cache and are rejected when the graph is built
+ */
+public class DependencyGraph {
+
+    /** Dependencies by bean name, restricted to defined beans, in registration order */
+    private final Map<String, Set<String>> dependencies;
+
+    /** Bean names, dependencies before their dependents */
+    private final List<String> topologicalOrder;
+
+    /** Creation depth by bean name, 0 for beans without dependencies */
+    private final Map<String, Integer> depths;
+
+    /** Groups of beans referencing each other in a cycle */
+    private final List<List<String>> cycles;
+
+    /** Position of each bean in registration order */
+    private final Map<String, Integer> registrationIndexes = new HashMap<>();
+
+    /** Registry version the graph was built from */
+    private final int registryVersion;
+
+    /**
+     * Build the graph
+     *
+     * @param dependencies dependencies by bean name, keys in registration order
+     * @param constructorDependencies dependencies that must be passed to the only constructor of a bean
+     * @param registryVersion registry version of the definitions
+     * @throws BeansException if required constructor dependencies form a cycle
+     */
+    DependencyGraph(Map<String, Set<String>> dependencies, Map<String, Set<String>> constructorDependencies,
+                    int registryVersion) throws BeansException {
+        this.dependencies = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+            Set<String> beanDependencies = new LinkedHashSet<>(entry.getValue());
+            beanDependencies.retainAll(dependencies.keySet());
+            this.dependencies.put(entry.getKey(), Collections.unmodifiableSet(beanDependencies));
+            this.registrationIndexes.put(entry.getKey(), this.registrationIndexes.size());
+        }
+        this.registryVersion = registryVersion;
+
+        List<String> constructorCycle = findCycle(constructorDependencies);
+        if (constructorCycle != null) {
+            throw new BeansException("Unresolvable circular constructor dependency: " + String.join(" -> ", constructorCycle));
+        }
+
+        ComponentSorter sorter = new ComponentSorter();
+        for (String beanName : this.dependencies.keySet()) {
+            if (!sorter.indexes.containsKey(beanName)) {
+                sorter.visit(beanName);
+            }
+        }
+        this.topologicalOrder = Collections.unmodifiableList(sorter.order);
+        this.depths = Collections.unmodifiableMap(sorter.depths);
+        this.cycles = Collections.unmodifiableList(sorter.cycles);
+    }
+
+    /**
+     * Get bean names in creation order, each bean after its dependencies
+     * Members of a cycle are listed together in registration order
+     *
+     * @return bean names
+     */
+    public List<String> getTopologicalOrder() {
+        return this.topologicalOrder;
+    }
+
+    /**
+     * Get creation depth of a bean, the length of its longest dependency chain
+     *
+     * @param beanName bean name
+     * @return depth, -1 if the bean is not part of the graph
+     */
+    public int getDepth(String beanName) {
+        Integer depth = this.depths.get(beanName);
+        return depth != null ? depth : -1;
+    }
+
+    /**
+     * Get direct dependencies of a bean
+     *
+     * @param beanName bean name
+     * @return names of defined beans the bean depends on, empty if unknown
+     */
+    public Set<String> getDependencies(String beanName) {
+        Set<String> beanDependencies = this.dependencies.get(beanName);
+        return beanDependencies != null ? beanDependencies : Collections.emptySet();
+    }
+
+    /**
+     * Get groups of beans taking part in a circular reference, resolved through early references
+     *
+     * @return cycles, each in registration order
+     */
+    public List<List<String>> getCycles() {
+        return this.cycles;
+    }
+
+    /**
+     * Check if a bean takes part in a circular reference
+     *
+     * @param beanName bean name
+     * @return whether the bean is a member of a cycle
+     */
+    public boolean isInCycle(String beanName) {
+        for (List<String> cycle : this.cycles) {
+            if (cycle.contains(beanName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int getRegistryVersion() {
+        return this.registryVersion;
+    }
+
+    /**
+     * Find a cycle by depth-first search
+     *
+     * @param edges dependencies by bean name
+     * @return cycle path starting and ending with the same bean, null if acyclic
+     */
+    private static List<String> findCycle(Map<String, Set<String>> edges) {
+        Map<String, Boolean> visiting = new HashMap<>();
+        List<String> path = new ArrayList<>();
+        for (String beanName : edges.keySet()) {
+            List<String> cycle = findCycle(beanName, edges, visiting, path);
+            if (cycle != null) {
+                return cycle;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> findCycle(String beanName, Map<String, Set<String>> edges,
+                                          Map<String, Boolean> visiting, List<String> path) {
+        Boolean state = visiting.get(beanName);
+        if (state != null) {
+            if (!state) {
+                return null;
+            }
+            List<String> cycle = new ArrayList<>(path.subList(path.indexOf(beanName), path.size()));
+            cycle.add(beanName);
+            return cycle;
+        }
+        visiting.put(beanName, Boolean.TRUE);
+        path.add(beanName);
+        for (String dependency : edges.getOrDefault(beanName, Collections.emptySet())) {
+            List<String> cycle = findCycle(dependency, edges, visiting, path);
+            if (cycle != null) {
+                return cycle;
+            }
+        }
+        path.remove(path.size() - 1);
+        visiting.put(beanName, Boolean.FALSE);
+        return null;
+    }
+
+    /**
+     * Tarjan's strongly connected components algorithm
+     * A component is completed only after every component it depends on, so completion order is creation order
+     */
+    private final class ComponentSorter {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private final Map<String, Integer> lowLinks = new HashMap<>();
+
+        private final List<String> stack = new ArrayList<>();
+
+        private final Set<String> onStack = new HashSet<>();
+
+        private final List<String> order = new ArrayList<>();
+
+        private final Map<String, Integer> depths = new HashMap<>();
+
+        private final List<List<String>> cycles = new ArrayList<>();
+
+        void visit(String beanName) {
+            int index = this.indexes.size();
+            this.indexes.put(beanName, index);
+            this.lowLinks.put(beanName, index);
+            this.stack.add(beanName);
+            this.onStack.add(beanName);
+
+            for (String dependency : dependencies.get(beanName)) {
+                if (!this.indexes.containsKey(dependency)) {
+                    visit(dependency);
+                    this.lowLinks.put(beanName, Math.min(this.lowLinks.get(beanName), this.lowLinks.get(dependency)));
+                } else if (this.onStack.contains(dependency)) {
+                    this.lowLinks.put(beanName, Math.min(this.lowLinks.get(beanName), this.indexes.get(dependency)));
+                }
+            }
+
+            if (this.lowLinks.get(beanName).equals(this.indexes.get(beanName))) {
+                completeComponent(beanName);
+            }
+        }
+
+        private void completeComponent(String root) {
+            int start = this.stack.lastIndexOf(root);
+            List<String> ordered = new ArrayList<>(this.stack.subList(start, this.stack.size()));
+            this.stack.subList(start, this.stack.size()).clear();
+            Set<String> members = new HashSet<>(ordered);
+            this.onStack.removeAll(members);
+            ordered.sort(Comparator.comparingInt(registrationIndexes::get));
+
+            // Depth is one more than the deepest dependency outside the component
+            int depth = 0;
+            for (String member : members) {
+                for (String dependency : dependencies.get(member)) {
+                    if (!members.contains(dependency)) {
+                        depth = Math.max(depth, this.depths.get(dependency) + 1);
+                    }
+                }
+            }
+
+            for (String member : ordered) {
+                this.depths.put(member, depth);
+            }
+            this.order.addAll(ordered);
+            if (ordered.size() > 1 || dependencies.get(root).contains(root)) {
+                this.cycles.add(Collections.unmodifiableList(ordered));
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.minispring.beans.factory.support;
 
 import com.minispring.beans.BeansException;
 import com.minispring.beans.factory.DisposableBean;
+import com.minispring.core.trace.ContainerTrace;
 
 import java.lang.reflect.Method;
 
@@ -38,7 +39,7 @@ public class DisposableBeanAdapter implements DisposableBean {
         // 1. If bean implements DisposableBean interface, call its destroy method
         if (bean instanceof DisposableBean) {
             ((DisposableBean) bean).destroy();
-            System.out.println("Executing destroy method of DisposableBean interface for bean [" + beanName + "]");
+            ContainerTrace.trace(DisposableBeanAdapter.class, "Executing destroy method of DisposableBean interface for bean [{}]", beanName);
         }
         
         // 2. If bean has configured destroy-method and it's not the DisposableBean interface method, call it via reflection
@@ -46,7 +47,7 @@ public class DisposableBeanAdapter implements DisposableBean {
             try {
                 Method destroyMethod = bean.getClass().getMethod(destroyMethodName);
                 destroyMethod.invoke(bean);
-                System.out.println("Executing custom destroy method for bean [" + beanName + "]: " + destroyMethodName);
+                ContainerTrace.trace(DisposableBeanAdapter.class, "Executing custom destroy method for bean [{}]: {}", beanName, destroyMethodName);
             } catch (NoSuchMethodException e) {
                 throw new BeansException("Could not find destroy method [" + destroyMethodName + "] for bean [" + beanName + "]", e);
             } catch (Exception e) {
@@ -0,0 +1,92 @@
+package com.minispring.beans.factory.support;
+
+import com.minispring.beans.factory.config.BeanDefinition;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frozen Bean Definition Table
+ * Immutable, array-backed open addressing table of bean definitions
+ * Built once when the bean factory configuration is frozen, read without locks afterwards
+ */
+final class FrozenBeanDefinitionTable {
+
+    /** Bean names in registration order */
+    private final String[] beanNames;
+
+    /** Hash slots holding bean names, null for empty slots */
+    private final String[] keys;
+
+    /** Bean definitions, same index as keys */
+    private final BeanDefinition[] values;
+
+    /** Slot index mask, table size is a power of two */
+    private final int mask;
+
+    /**
+     * Build table from registered bean definitions
+     *
+     * @param beanNames bean names in registration order
+     * @param beanDefinitions bean definitions by name
+     */
+    FrozenBeanDefinitionTable(List<String> beanNames, Map<String, BeanDefinition> beanDefinitions) {
+        this.beanNames = beanNames.toArray(new String[0]);
+
+        // Keep load factor at or below 0.5 so probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(this.beanNames.length, 1) * 2 - 1) << 1;
+        this.keys = new String[capacity];
+        this.values = new BeanDefinition[capacity];
+        this.mask = capacity - 1;
+
+        for (String beanName : this.beanNames) {
+            int index = spread(beanName.hashCode()) & this.mask;
+            while (this.keys[index] != null) {
+                index = (index + 1) & this.mask;
+            }
+            this.keys[index] = beanName;
+            this.values[index] = beanDefinitions.get(beanName);
+        }
+    }
+
+    /**
+     * Get bean definition by name
+     *
+     * @param beanName bean name
+     * @return bean definition, null if not found
+     */
+    BeanDefinition get(String beanName) {
+        int index = spread(beanName.hashCode()) & this.mask;
+        String key;
+        while ((key = this.keys[index]) != null) {
+            if (key.equals(beanName)) {
+                return this.values[index];
+            }
+            index = (index + 1) & this.mask;
+        }
+        return null;
+    }
+
+    /**
+     * Check if table contains bean definition with specified name
+     *
+     * @param beanName bean name
+     * @return whether contains
+     */
+    boolean contains(String beanName) {
+        return get(beanName) != null;
+    }
+
+    /**
+     * Get bean names in registration order
+     *
+     * @return shared array of bean names, must not be modified
+     */
+    String[] getBeanNames() {
+        return this.beanNames;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,196 @@
+package com.minispring.beans.factory.support;
+
+import com.minispring.beans.BeansException;
+import com.minispring.beans.factory.annotation.Autowired;
+import com.minispring.beans.factory.config.DependencyDescriptor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Injection Metadata
+ * Per-class cache of {@link Autowired} injection points, discovered once per class
+ * Fields are written through VarHandles and methods invoked through MethodHandles prepared with the metadata,
+ * so injecting further instances of a class neither scans its members nor reads annotations again
+ * Superclass injection points come first, fields before methods within each class
+ */
+final class InjectionMetadata {
+
+    private static final ClassValue<InjectionMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected InjectionMetadata computeValue(Class<?> type) {
+            return new InjectionMetadata(type);
+        }
+    };
+
+    private static final MethodType METHOD_INJECTOR_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+
+    private final InjectedElement[] elements;
+
+    private InjectionMetadata(Class<?> beanClass) {
+        List<InjectedElement> found = new ArrayList<>();
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = beanClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(0, current);
+        }
+        for (Class<?> current : hierarchy) {
+            MethodHandles.Lookup lookup = privateLookup(current);
+            for (Field field : current.getDeclaredFields()) {
+                Autowired autowired = field.getAnnotation(Autowired.class);
+                if (autowired != null) {
+                    found.add(createFieldElement(lookup, field, autowired));
+                }
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                Autowired autowired = method.getAnnotation(Autowired.class);
+                if (autowired != null && !method.isBridge()) {
+                    found.add(createMethodElement(lookup, method, autowired));
+                }
+            }
+        }
+        this.elements = found.toArray(new InjectedElement[0]);
+    }
+
+    /**
+     * Get metadata of a class
+     *
+     * @param beanClass bean class
+     * @return cached metadata
+     */
+    static InjectionMetadata forClass(Class<?> beanClass) {
+        return METADATA.get(beanClass);
+    }
+
+    /**
+     * Check if the class has no injection points
+     *
+     * @return whether there is nothing to inject
+     */
+    boolean isEmpty() {
+        return this.elements.length == 0;
+    }
+
+    /**
+     * Get descriptors of all injected dependencies, in injection order
+     *
+     * @return dependency descriptors
+     */
+    List<DependencyDescriptor> getDependencyDescriptors() {
+        List<DependencyDescriptor> descriptors = new ArrayList<>();
+        for (InjectedElement element : this.elements) {
+            Collections.addAll(descriptors, element.descriptors);
+        }
+        return descriptors;
+    }
+
+    /**
+     * Inject dependencies into a bean
+     *
+     * @param bean target bean
+     * @param beanName bean name, used to register dependent beans
+     * @param resolver resolves dependencies like constructor parameters
+     * @throws BeansException if a required dependency is missing or injection fails
+     */
+    void inject(Object bean, String beanName, ConstructorResolver resolver) throws BeansException {
+        for (InjectedElement element : this.elements) {
+            Object[] values = new Object[element.descriptors.length];
+            boolean complete = true;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = resolver.resolveDependent(element.descriptors[i], beanName);
+                if (values[i] == null) {
+                    complete = false;
+                }
+            }
+            if (!complete) {
+                // Optional dependency missing: leave the field untouched, do not call the method
+                continue;
+            }
+            try {
+                if (element.varHandle != null) {
+                    element.varHandle.set(bean, values[0]);
+                } else {
+                    element.methodHandle.invokeExact(bean, values);
+                }
+            } catch (BeansException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new BeansException("Failed to inject " + element.description + " of bean '" + beanName + "'", e);
+            }
+        }
+    }
+
+    private static InjectedElement createFieldElement(MethodHandles.Lookup lookup, Field field, Autowired autowired) {
+        if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+            throw new BeansException("Autowired annotation is not supported on static or final field: " + field);
+        }
+        try {
+            VarHandle varHandle = lookup.unreflectVarHandle(field);
+            DependencyDescriptor descriptor = new DependencyDescriptor(field, autowired.required());
+            return new InjectedElement("field '" + field.getName() + "'", varHandle, null,
+                    new DependencyDescriptor[] {descriptor});
+        } catch (IllegalAccessException e) {
+            throw new BeansException("Cannot access autowired field: " + field, e);
+        }
+    }
+
+    private static InjectedElement createMethodElement(MethodHandles.Lookup lookup, Method method, Autowired autowired) {
+        if (Modifier.isStatic(method.getModifiers())) {
+            throw new BeansException("Autowired annotation is not supported on static method: " + method);
+        }
+        if (method.getParameterCount() == 0) {
+            throw new BeansException("Autowired annotation requires at least one parameter: " + method);
+        }
+        try {
+            MethodHandle methodHandle = lookup.unreflect(method)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(METHOD_INJECTOR_TYPE);
+            DependencyDescriptor[] descriptors = new DependencyDescriptor[method.getParameterCount()];
+            for (int i = 0; i < descriptors.length; i++) {
+                descriptors[i] = new DependencyDescriptor(method, i, autowired.required());
+            }
+            return new InjectedElement("method '" + method.getName() + "'", null, methodHandle, descriptors);
+        } catch (IllegalAccessException e) {
+            throw new BeansException("Cannot access autowired method: " + method, e);
+        }
+    }
+
+    private static MethodHandles.Lookup privateLookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new BeansException("Cannot access members of " + type.getName() + " for autowiring", e);
+        }
+    }
+
+    /**
+     * Field or method to inject, with its prepared handle and dependency descriptors
+     */
+    private static final class InjectedElement {
+
+        private final String description;
+
+        /** Field handle, null for methods */
+        private final VarHandle varHandle;
+
+        /** Method handle taking the bean and spread arguments, null for fields */
+        private final MethodHandle methodHandle;
+
+        private final DependencyDescriptor[] descriptors;
+
+        InjectedElement(String description, VarHandle varHandle, MethodHandle methodHandle,
+                        DependencyDescriptor[] descriptors) {
+            this.description = description;
+            this.varHandle = varHandle;
+            this.methodHandle = methodHandle;
+            this.descriptors = descriptors;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.minispring.beans.factory.support;
+
+import com.minispring.beans.BeansException;
+import com.minispring.beans.factory.BeanFactory;
+import com.minispring.util.CglibClassCache;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.LazyLoader;
+
+import java.lang.reflect.Modifier;
+
+/**
+ * Lazy Resolution Proxy
+ * Stands in for a referenced bean and resolves it from the bean factory on the first method call
+ * The proxy is a CGLIB class with a {@link LazyLoader} callback: it is allocated without running any
+ * constructor of the referenced type, and once resolved the generated code calls the target directly
+ * Interface types get a generated implementation of the interface, classes a generated subclass
+ */
+final class LazyResolutionProxy {
+
+    private static final Class<?>[] CALLBACK_TYPES = {LazyLoader.class};
+
+    private LazyResolutionProxy() {
+    }
+
+    /**
+     * Create lazy-resolution proxy
+     *
+     * @param beanFactory bean factory to resolve the bean from
+     * @param beanName referenced bean name
+     * @param type type the proxy must be assignable to
+     * @return proxy
+     * @throws BeansException if no proxy can be created for the type
+     */
+    static Object create(BeanFactory beanFactory, String beanName, Class<?> type) throws BeansException {
+        if (Modifier.isFinal(type.getModifiers())) {
+            throw new BeansException("Cannot create lazy-resolution proxy for bean [" + beanName
+                    + "], type " + type.getName() + " is final");
+        }
+        try {
+            return CglibClassCache.newInstanceWithoutConstructor(type, CALLBACK_TYPES, null,
+                    new Callback[]{new TargetLoader(beanFactory, beanName)});
+        } catch (RuntimeException e) {
+            throw new BeansException("Cannot create lazy-resolution proxy for bean [" + beanName + "] of type " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Resolves the target on the first method call, the generated proxy keeps it for later calls
+     */
+    private static final class TargetLoader implements LazyLoader {
+
+        private final BeanFactory beanFactory;
+
+        private final String beanName;
+
+        TargetLoader(BeanFactory beanFactory, String beanName) {
+            this.beanFactory = beanFactory;
+            this.beanName = beanName;
+        }
+
+        @Override
+        public Object loadObject() {
+            return this.beanFactory.getBean(this.beanName);
+        }
+    }
+}
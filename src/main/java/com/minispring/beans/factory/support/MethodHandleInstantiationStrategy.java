@@ -0,0 +1,125 @@
+package com.minispring.beans.factory.support;
+
+import com.minispring.beans.BeansException;
+import com.minispring.beans.factory.config.BeanDefinition;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Method Handle Instantiation Strategy
+ * Compiles every constructor once into an instantiator function: a LambdaMetafactory generated Supplier
+ * for no-arg constructors, a spread MethodHandle otherwise. Later instantiations call the cached function,
+ * which the JIT can inline close to a plain {@code new}.
+ * Abstract bean classes still need a generated subclass and are delegated to the CGLIB strategy.
+ */
+public class MethodHandleInstantiationStrategy implements InstantiationStrategy {
+
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
+    /** Compiled instantiators per constructor */
+    private final Map<Constructor<?>, Function<Object[], Object>> instantiators = new ConcurrentHashMap<>(64);
+
+    /** Compiled instantiators per bean class, for the default constructor */
+    private final Map<Class<?>, Function<Object[], Object>> defaultInstantiators = new ConcurrentHashMap<>(64);
+
+    /** Strategy for bean classes that can only be instantiated through a subclass */
+    private final InstantiationStrategy subclassingInstantiationStrategy = new CglibSubclassingInstantiationStrategy();
+
+    @Override
+    public Object instantiate(BeanDefinition beanDefinition, String beanName, Constructor<?> ctor, Object[] args) throws BeansException {
+        Class<?> clazz = beanDefinition.getBeanClass();
+        if (Modifier.isAbstract(clazz.getModifiers())) {
+            return this.subclassingInstantiationStrategy.instantiate(beanDefinition, beanName, ctor, args);
+        }
+
+        Function<Object[], Object> instantiator;
+        if (ctor != null) {
+            // Convert null args to empty array to avoid NPE
+            if (args == null) {
+                args = EMPTY_ARGS;
+            }
+
+            // Check if parameter count matches
+            if (args.length != ctor.getParameterCount()) {
+                throw new BeansException("Constructor parameter count mismatch: " + beanName +
+                        ", expected " + ctor.getParameterCount() + " parameters but got " + args.length + " parameters");
+            }
+            instantiator = this.instantiators.computeIfAbsent(ctor, MethodHandleInstantiationStrategy::createInstantiator);
+        } else {
+            args = EMPTY_ARGS;
+            instantiator = this.defaultInstantiators.computeIfAbsent(clazz, MethodHandleInstantiationStrategy::createDefaultInstantiator);
+        }
+
+        try {
+            return instantiator.apply(args);
+        } catch (Throwable e) {
+            throw new BeansException("Failed to instantiate bean [" + beanName + "]", e);
+        }
+    }
+
+    /**
+     * Compile instantiator for the default constructor of a class
+     *
+     * @param clazz bean class
+     * @return instantiator function
+     */
+    private static Function<Object[], Object> createDefaultInstantiator(Class<?> clazz) {
+        try {
+            return createInstantiator(clazz.getDeclaredConstructor());
+        } catch (NoSuchMethodException e) {
+            throw new BeansException("Could not find default constructor: " + clazz.getName(), e);
+        }
+    }
+
+    /**
+     * Compile instantiator for a constructor
+     *
+     * @param ctor constructor
+     * @return instantiator function taking the constructor arguments
+     */
+    private static Function<Object[], Object> createInstantiator(Constructor<?> ctor) {
+        Class<?> clazz = ctor.getDeclaringClass();
+        MethodHandle constructorHandle;
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+            constructorHandle = lookup.unreflectConstructor(ctor);
+        } catch (IllegalAccessException e) {
+            throw new BeansException("Cannot access constructor: " + ctor, e);
+        }
+
+        int parameterCount = ctor.getParameterCount();
+        if (parameterCount == 0) {
+            try {
+                Supplier<?> supplier = (Supplier<?>) LambdaMetafactory.metafactory(lookup, "get",
+                        MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                        constructorHandle, MethodType.methodType(clazz)).getTarget().invokeExact();
+                return args -> supplier.get();
+            } catch (Throwable e) {
+                // Lookup lacks full privilege access (e.g. class from another class loader), use the method handle
+            }
+        }
+
+        MethodHandle spreader = constructorHandle
+                .asType(MethodType.genericMethodType(parameterCount))
+                .asSpreader(Object[].class, parameterCount);
+        return args -> {
+            try {
+                return (Object) spreader.invokeExact(args);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new BeansException("Constructor threw exception: " + ctor, e);
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.minispring.beans.factory.support;
+
+import com.minispring.beans.factory.config.BeanDefinition;
+import com.minispring.beans.factory.support.ConstructorResolver.ConstructorPlan;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolved Bean Definition
+ * Constructor plans and post-processor pipeline a bean factory resolved for one bean definition
+ * Only valid while bean class, scope and scoped proxy flag of the definition stay the same
+ */
+final class ResolvedBeanDefinition {
+
+    private final Class<?> beanClass;
+
+    private final String scope;
+
+    private final boolean scopedProxy;
+
+    private final Map<Object, ConstructorPlan> constructorPlans = new ConcurrentHashMap<>(4);
+
+    private volatile BeanPostProcessorPipeline postProcessorPipeline;
+
+    ResolvedBeanDefinition(BeanDefinition beanDefinition) {
+        this.beanClass = beanDefinition.getBeanClass();
+        this.scope = beanDefinition.getScope();
+        this.scopedProxy = beanDefinition.isScopedProxy();
+    }
+
+    /**
+     * Check if the resolved state still describes a bean definition
+     *
+     * @param beanDefinition bean definition
+     * @return false if bean class, scope or scoped proxy flag changed since resolution
+     */
+    boolean matches(BeanDefinition beanDefinition) {
+        return this.beanClass == beanDefinition.getBeanClass()
+                && Objects.equals(this.scope, beanDefinition.getScope())
+                && this.scopedProxy == beanDefinition.isScopedProxy();
+    }
+
+    /**
+     * Get constructor plan resolved for the given argument shape
+     *
+     * @param argumentShape key describing the explicit constructor arguments
+     * @return resolved plan, null if not resolved yet
+     */
+    ConstructorPlan getConstructorPlan(Object argumentShape) {
+        return this.constructorPlans.get(argumentShape);
+    }
+
+    /**
+     * Cache constructor plan resolved for the given argument shape
+     *
+     * @param argumentShape key describing the explicit constructor arguments
+     * @param constructorPlan resolved plan
+     */
+    void setConstructorPlan(Object argumentShape, ConstructorPlan constructorPlan) {
+        this.constructorPlans.put(argumentShape, constructorPlan);
+    }
+
+    BeanPostProcessorPipeline getPostProcessorPipeline() {
+        return this.postProcessorPipeline;
+    }
+
+    void setPostProcessorPipeline(BeanPostProcessorPipeline postProcessorPipeline) {
+        this.postProcessorPipeline = postProcessorPipeline;
+    }
+}
@@ -3,6 +3,7 @@ package com.minispring.beans.factory.xml;
 import com.minispring.beans.BeansException;
 import com.minispring.beans.factory.config.BeanDefinition;
 import com.minispring.beans.factory.support.BeanDefinitionRegistry;
+import com.minispring.core.trace.ContainerTrace;
 import org.dom4j.Element;
 
 /**
@@ -32,7 +33,7 @@ public class ContextNamespaceHandler extends AbstractNamespaceHandler {
         public void parse(Element element, BeanDefinitionRegistry registry) throws BeansException {
             String location = element.attributeValue("location");
             if (location != null && !location.isEmpty()) {
-                System.out.println("Parsing property-placeholder element, loading property file: " + location);
+                ContainerTrace.trace(ContextNamespaceHandler.class, "Parsing property-placeholder element, loading property file: {}", location);
                 // In actual implementation, property file should be loaded and PropertyPlaceholderConfigurer bean created here
             }
         }
@@ -46,7 +47,7 @@ public class ContextNamespaceHandler extends AbstractNamespaceHandler {
         public void parse(Element element, BeanDefinitionRegistry registry) throws BeansException {
             String basePackage = element.attributeValue("base-package");
             if (basePackage != null && !basePackage.isEmpty()) {
-                System.out.println("Parsing component-scan element, scanning package: " + basePackage);
+                ContainerTrace.trace(ContextNamespaceHandler.class, "Parsing component-scan element, scanning package: {}", basePackage);
                 // In actual implementation, components under the specified package should be scanned and registered as beans here
             }
         }
@@ -54,15 +55,22 @@ public class ContextNamespaceHandler extends AbstractNamespaceHandler {
     
     /**
      * Default lazy-init attribute decorator
+     * Applied to the root element, marks every bean element without own lazy-init with the default
      */
     private static class DefaultLazyInitAttributeDecorator implements AttributeDecorator {
         @Override
         public void decorate(Element element, String attributeName, BeanDefinitionRegistry registry) throws BeansException {
             String value = element.attributeValue(attributeName);
-            if ("true".equals(value)) {
-                System.out.println("Set default lazy-init to true");
-                // In actual implementation, all beans' default lazy-init property should be set here
+            if ("true".equals(value) || "false".equals(value)) {
+                ContainerTrace.trace(ContextNamespaceHandler.class, "Set default lazy-init to {}", value);
+                for (Element child : element.elements()) {
+                    String lazyInit = child.attributeValue(DefaultBeanDefinitionDocumentReader.LAZY_INIT_ATTRIBUTE);
+                    if (DefaultBeanDefinitionDocumentReader.BEAN_ELEMENT.equals(child.getName()) &&
+                            (lazyInit == null || lazyInit.isEmpty() || DefaultBeanDefinitionDocumentReader.DEFAULT_VALUE.equals(lazyInit))) {
+                        child.addAttribute(DefaultBeanDefinitionDocumentReader.LAZY_INIT_ATTRIBUTE, value);
+                    }
+                }
             }
         }
     }
-} 
\ No newline at end of file
+}
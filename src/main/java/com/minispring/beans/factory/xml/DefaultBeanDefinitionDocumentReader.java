@@ -31,11 +31,21 @@ public class DefaultBeanDefinitionDocumentReader implements BeanDefinitionDocume
     public static final String INIT_METHOD_ATTRIBUTE = "init-method";
     public static final String DESTROY_METHOD_ATTRIBUTE = "destroy-method";
     public static final String SCOPE_ATTRIBUTE = "scope";
+    public static final String LAZY_INIT_ATTRIBUTE = "lazy-init";
+    public static final String LAZY_ATTRIBUTE = "lazy";
+    public static final String ASYNC_INIT_ATTRIBUTE = "async-init";
+    public static final String DEFAULT_LAZY_INIT_ATTRIBUTE = "default-lazy-init";
+    public static final String DEFAULT_VALUE = "default";
     
     /**
      * Namespace handler resolver
      */
     private NamespaceHandlerResolver namespaceHandlerResolver;
+
+    /**
+     * Default lazy-init value of the document being parsed
+     */
+    private String defaultLazyInit;
     
     /**
      * Default constructor
@@ -86,6 +96,12 @@ public class DefaultBeanDefinitionDocumentReader implements BeanDefinitionDocume
      * @throws BeansException if an error occurs during parsing
      */
     protected void doRegisterBeanDefinitions(Element root, BeanDefinitionRegistry registry) throws BeansException {
+        // Let namespace handlers decorate root, e.g. context:default-lazy-init
+        parseCustomAttributes(root, null, registry);
+        
+        // Document defaults, context:default-lazy-init is matched by local name as well
+        this.defaultLazyInit = root.attributeValue(DEFAULT_LAZY_INIT_ATTRIBUTE);
+        
         // Process all child elements under root
         List<Element> elements = root.elements();
         for (Element element : elements) {
@@ -135,6 +151,7 @@ public class DefaultBeanDefinitionDocumentReader implements BeanDefinitionDocume
         String initMethodName = beanElement.attributeValue(INIT_METHOD_ATTRIBUTE);
         String destroyMethodName = beanElement.attributeValue(DESTROY_METHOD_ATTRIBUTE);
         String scope = beanElement.attributeValue(SCOPE_ATTRIBUTE);
+        String lazyInit = beanElement.attributeValue(LAZY_INIT_ATTRIBUTE);
 
         // Get Class object
         Class<?> clazz;
@@ -167,6 +184,13 @@ public class DefaultBeanDefinitionDocumentReader implements BeanDefinitionDocume
             beanDefinition.setScope(scope);
         }
 
+        // Set lazy-init, falling back to the document default
+        if (lazyInit == null || lazyInit.isEmpty() || DEFAULT_VALUE.equals(lazyInit)) {
+            lazyInit = this.defaultLazyInit;
+        }
+        beanDefinition.setLazyInit("true".equals(lazyInit));
+        beanDefinition.setAsyncInit("true".equals(beanElement.attributeValue(ASYNC_INIT_ATTRIBUTE)));
+
         // Parse property elements
         parsePropertyElements(beanElement, beanDefinition);
         
@@ -237,8 +261,8 @@ public class DefaultBeanDefinitionDocumentReader implements BeanDefinitionDocume
             // Normal property value
             value = propertyValue;
         } else if (propertyRef != null && !propertyRef.isEmpty()) {
-            // Reference to another bean
-            value = new BeanReference(propertyRef);
+            // Reference to another bean, optionally resolved on first use
+            value = new BeanReference(propertyRef, "true".equals(propertyElement.attributeValue(LAZY_ATTRIBUTE)));
         } else {
             throw new XmlBeanDefinitionStoreException("Either 'value' or 'ref' attribute must be specified for bean property element");
         }
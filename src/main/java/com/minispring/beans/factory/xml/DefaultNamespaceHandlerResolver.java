@@ -61,7 +61,7 @@ public class DefaultNamespaceHandlerResolver implements NamespaceHandlerResolver
                 
                 for (Map.Entry<Object, Object> entry : mappings.entrySet()) {
                     String namespaceUri = (String) entry.getKey();
-                    String handlerClassName = (String) entry.getValue();
+                    String handlerClassName = ((String) entry.getValue()).trim();
                     handlerMappings.put(namespaceUri, handlerClassName);
                 }
             }
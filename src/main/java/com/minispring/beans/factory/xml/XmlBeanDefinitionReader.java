@@ -9,6 +9,7 @@ import com.minispring.beans.factory.support.AbstractBeanDefinitionReader;
 import com.minispring.beans.factory.support.BeanDefinitionRegistry;
 import com.minispring.core.io.Resource;
 import com.minispring.core.io.ResourceLoader;
+import com.minispring.core.trace.ContainerTrace;
 import org.dom4j.Document;
 import org.dom4j.DocumentException;
 import org.dom4j.Element;
@@ -97,6 +98,6 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
         beanDefinitionDocumentReader.registerBeanDefinitions(document, getRegistry());
         
         // Log message
-        System.out.println("Loaded bean definitions from resource [" + resource + "]");
+        ContainerTrace.trace(XmlBeanDefinitionReader.class, "Loaded bean definitions from resource [{}]", resource);
     }
 } 
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.minispring.context.event;
 import com.minispring.beans.factory.BeanFactory;
 import com.minispring.context.ApplicationEvent;
 import com.minispring.context.ApplicationListener;
+import com.minispring.core.jfr.EventMulticastEvent;
+import com.minispring.core.trace.ContainerTrace;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -83,9 +85,14 @@ public class SimpleApplicationEventMulticaster implements ApplicationEventMultic
      */
     @Override
     public void multicastEvent(ApplicationEvent event) {
-        for (ApplicationListener listener : getApplicationListeners(event)) {
+        EventMulticastEvent multicastEvent = EventMulticastEvent.beginIfEnabled();
+        Collection<ApplicationListener<?>> matchingListeners = getApplicationListeners(event);
+        for (ApplicationListener<?> listener : matchingListeners) {
             invokeListener(listener, event);
         }
+        if (multicastEvent != null) {
+            multicastEvent.commit(event.getClass(), matchingListeners.size());
+        }
     }
     
     /**
@@ -94,8 +101,8 @@ public class SimpleApplicationEventMulticaster implements ApplicationEventMultic
      * @param event event
      * @return list of matching listeners
      */
-    private Collection<ApplicationListener> getApplicationListeners(ApplicationEvent event) {
-        List<ApplicationListener> allListeners = new ArrayList<>();
+    private Collection<ApplicationListener<?>> getApplicationListeners(ApplicationEvent event) {
+        List<ApplicationListener<?>> allListeners = new ArrayList<>();
         for (ApplicationListener<?> listener : listeners) {
             if (supportsEvent(listener, event)) {
                 allListeners.add(listener);
@@ -128,8 +135,8 @@ public class SimpleApplicationEventMulticaster implements ApplicationEventMultic
         try {
             listener.onApplicationEvent(event);
         } catch (Exception e) {
-            // Log or rethrow exception
-            System.err.println("Error occurred while handling event: " + e.getMessage());
+            // Report exception without interrupting other listeners
+            ContainerTrace.error(SimpleApplicationEventMulticaster.class, "Error occurred while handling event: " + e.getMessage(), e);
         }
     }
 } 
\ No newline at end of file
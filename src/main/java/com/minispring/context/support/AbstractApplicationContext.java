@@ -1,9 +1,11 @@
 package com.minispring.context.support;
 
 import com.minispring.beans.BeansException;
+import com.minispring.beans.factory.BeanHandle;
 import com.minispring.beans.factory.ConfigurableListableBeanFactory;
 import com.minispring.beans.factory.config.BeanFactoryPostProcessor;
 import com.minispring.beans.factory.config.BeanPostProcessor;
+import com.minispring.beans.factory.support.DefaultListableBeanFactory;
 import com.minispring.context.ApplicationContext;
 import com.minispring.context.ApplicationEvent;
 import com.minispring.context.ApplicationListener;
@@ -16,7 +18,12 @@ import com.minispring.core.env.ConfigurableEnvironment;
 import com.minispring.core.env.Environment;
 import com.minispring.core.env.StandardEnvironment;
 import com.minispring.core.io.DefaultResourceLoader;
+import com.minispring.core.jfr.RefreshStepEvent;
+import com.minispring.core.trace.ContainerTrace;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
 
@@ -46,6 +53,26 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
      */
     private ConfigurableEnvironment environment;
     
+    /**
+     * Startup profile file, null if startup profiles are not used
+     */
+    private Path startupProfileLocation;
+    
+    /**
+     * How the startup profile is used
+     */
+    private StartupProfile.Mode startupProfileMode;
+    
+    /**
+     * Time after refresh during which bean requests are recorded
+     */
+    private Duration startupProfileWindow = Duration.ofHours(1);
+    
+    /**
+     * Active startup profile recorder, null if not recording
+     */
+    private StartupProfileRecorder startupProfileRecorder;
+    
     /**
      * Default constructor
      */
@@ -60,39 +87,60 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
      */
     @Override
     public void refresh() throws BeansException {
+        // A recording of the previous refresh must not outlive its bean factory
+        finishStartupProfileRecording();
+        
+        // Each step is recorded as a JFR event while a recording is running
+        RefreshStepEvent step = RefreshStepEvent.beginIfEnabled("prepareRefresh");
+        
         // 1. Prepare refresh context environment
         prepareRefresh();
     
         // 2. Create BeanFactory and load BeanDefinition
+        step = RefreshStepEvent.next(step, "obtainFreshBeanFactory");
         ConfigurableListableBeanFactory beanFactory = obtainFreshBeanFactory();
         
         // 3. Prepare BeanFactory, set class loader, etc.
+        step = RefreshStepEvent.next(step, "prepareBeanFactory");
         prepareBeanFactory(beanFactory);
         
         try {
             // 4. Allow subclasses to modify application context's internal BeanFactory after standard initialization
+            step = RefreshStepEvent.next(step, "postProcessBeanFactory");
             postProcessBeanFactory(beanFactory);
             
             // 5. Call BeanFactoryPostProcessor to modify BeanDefinition
+            step = RefreshStepEvent.next(step, "invokeBeanFactoryPostProcessors");
             invokeBeanFactoryPostProcessors(beanFactory);
             
+            // Build dependency graph from the final definitions, rejecting unresolvable cycles up front
+            step = RefreshStepEvent.next(step, "buildDependencyGraph");
+            buildDependencyGraph(beanFactory);
+            
             // 6. Register BeanPostProcessor, these processors are used during bean initialization
+            step = RefreshStepEvent.next(step, "registerBeanPostProcessors");
             registerBeanPostProcessors(beanFactory);
             
             // 7. Initialize event multicaster
+            step = RefreshStepEvent.next(step, "initApplicationEventMulticaster");
             initApplicationEventMulticaster();
             
             // 8. Initialize other beans specific to subclasses
+            step = RefreshStepEvent.next(step, "onRefresh");
             onRefresh();
             
             // 9. Register listeners
+            step = RefreshStepEvent.next(step, "registerListeners");
             registerListeners();
             
             // 10. Complete instantiation of all singleton beans
+            step = RefreshStepEvent.next(step, "finishBeanFactoryInitialization");
             finishBeanFactoryInitialization(beanFactory);
             
             // 11. Complete refresh process, publish event
+            step = RefreshStepEvent.next(step, "finishRefresh");
             finishRefresh();
+            RefreshStepEvent.next(step, null);
         } catch (BeansException ex) {
             // 12. Destroy created singleton beans
             destroyBeans();
@@ -168,6 +216,18 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         }
     }
     
+    /**
+     * Build static dependency graph of the bean definitions
+     * 
+     * @param beanFactory BeanFactory
+     * @throws BeansException if required constructor dependencies form a cycle
+     */
+    protected void buildDependencyGraph(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (beanFactory instanceof DefaultListableBeanFactory) {
+            ((DefaultListableBeanFactory) beanFactory).getDependencyGraph();
+        }
+    }
+    
     /**
      * Register BeanPostProcessor, these processors are used during bean initialization
      * 
@@ -216,8 +276,70 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
      * @param beanFactory BeanFactory
      */
     protected void finishBeanFactoryInitialization(ConfigurableListableBeanFactory beanFactory) {
-        // Initialize all remaining singleton beans
-        beanFactory.preInstantiateSingletons();
+        // Bean definitions are final from here on, allow lock-free reads
+        beanFactory.freezeConfiguration();
+        
+        // Initialize all remaining singleton beans, returns once asynchronous init callbacks have completed
+        // With a valid startup profile only the recorded beans are created, all others on first request
+        StartupProfile profile = loadStartupProfile(beanFactory);
+        if (profile != null) {
+            beanFactory.preInstantiateSingletons(profile.getBeanNames());
+        } else {
+            beanFactory.preInstantiateSingletons();
+        }
+        
+        // Record requests made from here on, not the pre-instantiation above
+        if (this.startupProfileMode == StartupProfile.Mode.RECORD
+                || (this.startupProfileMode == StartupProfile.Mode.PRELOAD && profile == null)) {
+            startStartupProfileRecording(beanFactory);
+        }
+    }
+    
+    /**
+     * Load startup profile for preloading
+     * 
+     * @param beanFactory BeanFactory
+     * @return profile matching the current bean definitions, null if not preloading or there is none
+     */
+    protected StartupProfile loadStartupProfile(ConfigurableListableBeanFactory beanFactory) {
+        if (this.startupProfileMode != StartupProfile.Mode.PRELOAD) {
+            return null;
+        }
+        try {
+            StartupProfile profile = StartupProfile.load(this.startupProfileLocation);
+            if (profile != null && profile.matches(beanFactory)) {
+                return profile;
+            }
+            ContainerTrace.trace(AbstractApplicationContext.class, "No valid startup profile at {}, starting eagerly", this.startupProfileLocation);
+        } catch (IOException e) {
+            ContainerTrace.error(AbstractApplicationContext.class, "Failed to read startup profile " + this.startupProfileLocation, e);
+        }
+        return null;
+    }
+    
+    /**
+     * Start recording requested beans into the startup profile
+     * 
+     * @param beanFactory BeanFactory
+     */
+    protected void startStartupProfileRecording(ConfigurableListableBeanFactory beanFactory) {
+        if (beanFactory instanceof DefaultListableBeanFactory) {
+            StartupProfileRecorder recorder = new StartupProfileRecorder(
+                    (DefaultListableBeanFactory) beanFactory, this.startupProfileLocation);
+            this.startupProfileRecorder = recorder;
+            recorder.start(this.startupProfileWindow);
+        }
+    }
+    
+    /**
+     * Stop recording and save the startup profile, if recording
+     */
+    protected void finishStartupProfileRecording() {
+        StartupProfileRecorder recorder = this.startupProfileRecorder;
+        if (recorder != null) {
+            this.startupProfileRecorder = null;
+            recorder.finish();
+        }
     }
     
     /**
@@ -265,6 +387,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         // Publish context closed event
         publishEvent(new ContextClosedEvent(this));
         
+        // Save requests recorded so far if the recording window has not elapsed yet
+        finishStartupProfileRecording();
+        
         // Destroy all singleton beans
         destroyBeans();
     }
@@ -277,6 +402,30 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
      */
     public abstract ConfigurableListableBeanFactory getBeanFactory() throws IllegalStateException;
     
+    /**
+     * Use a startup profile, must be set before refresh
+     * RECORD saves the beans requested after refresh, in order of first request, once the recording window
+     * has elapsed or the context is closed; PRELOAD pre-instantiates only those beans (in parallel if the
+     * bean factory pre-instantiates in parallel) and records a new profile if the file is missing or was
+     * recorded against other bean definitions
+     * 
+     * @param location profile file
+     * @param mode how the profile is used, null to disable
+     */
+    public void setStartupProfile(Path location, StartupProfile.Mode mode) {
+        this.startupProfileLocation = location;
+        this.startupProfileMode = location != null ? mode : null;
+    }
+    
+    /**
+     * Set time after refresh during which bean requests are recorded, one hour by default
+     * 
+     * @param startupProfileWindow recording window
+     */
+    public void setStartupProfileWindow(Duration startupProfileWindow) {
+        this.startupProfileWindow = startupProfileWindow;
+    }
+    
     /**
      * Set application context name
      * 
@@ -356,6 +505,32 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         return getBeanFactory().getBean(name, args);
     }
     
+    /**
+     * Get resolved handle to a bean
+     * 
+     * @param name bean name
+     * @param <T> bean type
+     * @return bean handle, invalidated when the context is refreshed or closed
+     * @throws BeansException if the bean does not exist
+     */
+    @Override
+    public <T> BeanHandle<T> getBeanHandle(String name) throws BeansException {
+        return getBeanFactory().getBeanHandle(name);
+    }
+    
+    /**
+     * Get resolved handle to the bean of a type
+     * 
+     * @param requiredType bean type
+     * @param <T> bean type
+     * @return bean handle, invalidated when the context is refreshed or closed
+     * @throws BeansException if no unique bean of the type exists
+     */
+    @Override
+    public <T> BeanHandle<T> getBeanHandle(Class<T> requiredType) throws BeansException {
+        return getBeanFactory().getBeanHandle(requiredType);
+    }
+    
     /**
      * Check if bean exists
      * 
@@ -1,15 +1,18 @@
 package com.minispring.context.support;
 
 import com.minispring.beans.BeansException;
-import com.minispring.beans.factory.config.BeanPostProcessor;
+import com.minispring.beans.factory.config.BeanDefinition;
+import com.minispring.beans.factory.config.SelectiveBeanPostProcessor;
 import com.minispring.context.ApplicationContext;
 import com.minispring.context.ApplicationContextAware;
 
+import java.lang.reflect.Modifier;
+
 /**
  * ApplicationContextAware Processor
  * Processes beans that implement ApplicationContextAware interface
  */
-public class ApplicationContextAwareProcessor implements BeanPostProcessor {
+public class ApplicationContextAwareProcessor implements SelectiveBeanPostProcessor {
     
     private final ApplicationContext applicationContext;
     
@@ -22,6 +25,29 @@ public class ApplicationContextAwareProcessor implements BeanPostProcessor {
         this.applicationContext = applicationContext;
     }
     
+    /**
+     * Only beans implementing ApplicationContextAware are processed
+     * The bean class only decides for concrete classes instantiated by the factory, instances from a supplier
+     * or of a definition declaring an interface or abstract class may be of any subtype
+     * 
+     * @param beanDefinition bean definition
+     * @return whether beans of the definition may implement ApplicationContextAware
+     */
+    @Override
+    public boolean appliesTo(BeanDefinition beanDefinition) {
+        Class<?> beanClass = beanDefinition.getBeanClass();
+        if (beanClass == null || beanDefinition.getInstanceSupplier() != null
+                || beanClass.isInterface() || Modifier.isAbstract(beanClass.getModifiers())) {
+            return true;
+        }
+        return ApplicationContextAware.class.isAssignableFrom(beanClass);
+    }
+    
+    @Override
+    public boolean hasAfterInitialization() {
+        return false;
+    }
+    
     /**
      * Process before bean initialization
      * 
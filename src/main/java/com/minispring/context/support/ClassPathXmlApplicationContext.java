@@ -30,8 +30,21 @@ public class ClassPathXmlApplicationContext extends AbstractXmlApplicationContex
      * @throws BeansException if context creation fails
      */
     public ClassPathXmlApplicationContext(String[] configLocations) throws BeansException {
+        this(configLocations, true);
+    }
+    
+    /**
+     * Constructor with multiple configuration files, optionally deferring refresh
+     * 
+     * @param configLocations array of configuration file locations
+     * @param refresh whether to refresh immediately, false to configure the context before calling refresh
+     * @throws BeansException if context creation fails
+     */
+    public ClassPathXmlApplicationContext(String[] configLocations, boolean refresh) throws BeansException {
         this.configLocations = configLocations;
-        refresh();
+        if (refresh) {
+            refresh();
+        }
     }
     
     /**
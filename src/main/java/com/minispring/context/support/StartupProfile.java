@@ -0,0 +1,176 @@
+package com.minispring.context.support;
+
+import com.minispring.beans.PropertyValue;
+import com.minispring.beans.factory.ConfigurableListableBeanFactory;
+import com.minispring.beans.factory.config.BeanDefinition;
+import com.minispring.beans.factory.config.BeanReference;
+import com.minispring.beans.factory.support.DefaultListableBeanFactory;
+import com.minispring.beans.factory.support.DependencyGraph;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Startup Profile
+ * Beans requested after a recorded start, in order of their first request, together with a fingerprint
+ * of the bean definitions they were recorded against
+ * A profile only applies to definitions with the same fingerprint, any change of bean names, classes,
+ * scopes, lazy or async-init flags, init or destroy methods, instance suppliers, property references
+ * or dependencies between the beans invalidates it
+ */
+public final class StartupProfile {
+
+    /**
+     * How the application context uses its startup profile
+     */
+    public enum Mode {
+        /** Start as usual and record the beans requested during the recording window */
+        RECORD,
+        /** Pre-instantiate only the recorded beans, in recorded order; record again if there is no valid profile */
+        PRELOAD
+    }
+
+    private static final String HEADER = "# minispring startup profile";
+
+    private static final String FINGERPRINT_PREFIX = "fingerprint=";
+
+    private final String fingerprint;
+
+    private final List<String> beanNames;
+
+    /**
+     * Create a profile
+     *
+     * @param fingerprint fingerprint of the bean definitions
+     * @param beanNames requested beans in order of first request
+     */
+    public StartupProfile(String fingerprint, List<String> beanNames) {
+        this.fingerprint = fingerprint;
+        this.beanNames = Collections.unmodifiableList(new ArrayList<>(beanNames));
+    }
+
+    public String getFingerprint() {
+        return this.fingerprint;
+    }
+
+    /**
+     * Get requested beans in order of first request
+     *
+     * @return bean names
+     */
+    public List<String> getBeanNames() {
+        return this.beanNames;
+    }
+
+    /**
+     * Check if the profile was recorded against the current bean definitions
+     *
+     * @param beanFactory bean factory holding the definitions
+     * @return whether the fingerprints match
+     */
+    public boolean matches(ConfigurableListableBeanFactory beanFactory) {
+        return this.fingerprint.equals(fingerprint(beanFactory));
+    }
+
+    /**
+     * Load a profile
+     *
+     * @param location profile file
+     * @return profile, null if the file does not exist or is not a profile
+     * @throws IOException if the file cannot be read
+     */
+    public static StartupProfile load(Path location) throws IOException {
+        if (!Files.isRegularFile(location)) {
+            return null;
+        }
+        List<String> lines = Files.readAllLines(location, StandardCharsets.UTF_8);
+        if (lines.size() < 2 || !HEADER.equals(lines.get(0)) || !lines.get(1).startsWith(FINGERPRINT_PREFIX)) {
+            return null;
+        }
+        List<String> beanNames = new ArrayList<>();
+        for (String line : lines.subList(2, lines.size())) {
+            if (!line.isEmpty()) {
+                beanNames.add(line);
+            }
+        }
+        return new StartupProfile(lines.get(1).substring(FINGERPRINT_PREFIX.length()), beanNames);
+    }
+
+    /**
+     * Save the profile, replacing the file atomically where supported
+     *
+     * @param location profile file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path location) throws IOException {
+        List<String> lines = new ArrayList<>(this.beanNames.size() + 2);
+        lines.add(HEADER);
+        lines.add(FINGERPRINT_PREFIX + this.fingerprint);
+        lines.addAll(this.beanNames);
+        Path directory = location.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, location.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempFile, lines, StandardCharsets.UTF_8);
+            try {
+                Files.move(tempFile, location, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(tempFile, location, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Compute fingerprint of the bean definitions of a factory
+     * Covers the dependency graph edges as well if the factory is a DefaultListableBeanFactory
+     *
+     * @param beanFactory bean factory holding the definitions
+     * @return hex encoded SHA-256 digest
+     */
+    public static String fingerprint(ConfigurableListableBeanFactory beanFactory) {
+        // Constructor and @Autowired dependencies are only visible through the dependency graph
+        DependencyGraph dependencyGraph = beanFactory instanceof DefaultListableBeanFactory
+                ? ((DefaultListableBeanFactory) beanFactory).getDependencyGraph() : null;
+        StringBuilder content = new StringBuilder();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            content.append(beanName).append('|')
+                    .append(beanDefinition.getBeanClass() != null ? beanDefinition.getBeanClass().getName() : "").append('|')
+                    .append(beanDefinition.getScope()).append('|')
+                    .append(beanDefinition.isLazyInit()).append('|')
+                    .append(beanDefinition.isAsyncInit()).append('|')
+                    .append(beanDefinition.getInstanceSupplier() != null).append('|')
+                    .append(beanDefinition.getInitMethodName()).append('|')
+                    .append(beanDefinition.getDestroyMethodName());
+            for (PropertyValue propertyValue : beanDefinition.getPropertyValues().getPropertyValues()) {
+                content.append('|').append(propertyValue.getName());
+                if (propertyValue.getValue() instanceof BeanReference) {
+                    BeanReference reference = (BeanReference) propertyValue.getValue();
+                    content.append(reference.isLazy() ? "~>" : "->").append(reference.getBeanName());
+                }
+            }
+            if (dependencyGraph != null) {
+                content.append("|depends=").append(String.join(",", new TreeSet<>(dependencyGraph.getDependencies(beanName))));
+            }
+            content.append('\n');
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
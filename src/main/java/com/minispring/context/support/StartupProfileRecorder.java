@@ -0,0 +1,120 @@
+package com.minispring.context.support;
+
+import com.minispring.beans.factory.support.DefaultListableBeanFactory;
+import com.minispring.core.trace.ContainerTrace;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Startup Profile Recorder
+ * Records defined beans in order of their first request and saves them as startup profile
+ * once the recording window has elapsed or the context is closed, whichever comes first
+ */
+final class StartupProfileRecorder implements Consumer<String> {
+
+    /** Prefix requesting a factory itself instead of its product, recorded under the plain bean name */
+    private static final String FACTORY_BEAN_PREFIX = "&";
+
+    private final DefaultListableBeanFactory beanFactory;
+
+    private final Path location;
+
+    private final String fingerprint;
+
+    private final Set<String> recordedNames = ConcurrentHashMap.newKeySet();
+
+    private final Queue<String> requestOrder = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    /** Timer ending the recording window, shut down once the recording is finished */
+    private volatile ScheduledThreadPoolExecutor windowTimer;
+
+    private volatile ScheduledFuture<?> windowTimeout;
+
+    StartupProfileRecorder(DefaultListableBeanFactory beanFactory, Path location) {
+        this.beanFactory = beanFactory;
+        this.location = location;
+        this.fingerprint = StartupProfile.fingerprint(beanFactory);
+    }
+
+    /**
+     * Start listening to bean requests
+     * @param window recording window, the profile is saved when it elapses
+     */
+    void start(Duration window) {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "startup-profile-recorder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        this.windowTimer = timer;
+        this.beanFactory.setBeanRequestListener(this);
+        this.windowTimeout = timer.schedule(this::finish, window.toNanos(), TimeUnit.NANOSECONDS);
+        ContainerTrace.trace(StartupProfileRecorder.class, "Recording startup profile to {} for {}", this.location, window);
+    }
+
+    @Override
+    public void accept(String name) {
+        String beanName = canonicalName(name);
+        if (this.finished.get() || this.recordedNames.contains(beanName)) {
+            return;
+        }
+        if (this.beanFactory.containsBeanDefinition(beanName) && this.recordedNames.add(beanName)) {
+            this.requestOrder.add(beanName);
+        }
+    }
+
+    /**
+     * Get the bean name a requested name refers to
+     * @param name requested name, possibly with factory prefix
+     * @return bean name as registered
+     */
+    private static String canonicalName(String name) {
+        String beanName = name;
+        while (beanName.startsWith(FACTORY_BEAN_PREFIX)) {
+            beanName = beanName.substring(FACTORY_BEAN_PREFIX.length());
+        }
+        return beanName;
+    }
+
+    /**
+     * Stop recording and save the profile, subsequent calls have no effect
+     */
+    void finish() {
+        if (!this.finished.compareAndSet(false, true)) {
+            return;
+        }
+        this.beanFactory.setBeanRequestListener(null);
+        // Release the timer, it would otherwise keep this recorder and its bean factory reachable
+        ScheduledFuture<?> timeout = this.windowTimeout;
+        if (timeout != null) {
+            timeout.cancel(false);
+        }
+        ScheduledThreadPoolExecutor timer = this.windowTimer;
+        if (timer != null) {
+            timer.shutdown();
+        }
+        StartupProfile profile = new StartupProfile(this.fingerprint, new ArrayList<>(this.requestOrder));
+        try {
+            profile.save(this.location);
+            ContainerTrace.trace(StartupProfileRecorder.class, "Saved startup profile with {} beans to {}",
+                    profile.getBeanNames().size(), this.location);
+        } catch (IOException e) {
+            ContainerTrace.error(StartupProfileRecorder.class, "Failed to save startup profile to " + this.location, e);
+        }
+    }
+}
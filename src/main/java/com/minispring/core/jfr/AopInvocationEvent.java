@@ -0,0 +1,72 @@
+package com.minispring.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+import java.lang.reflect.Method;
+
+/**
+ * AOP invocation JFR event
+ * Covers one call through a JDK or CGLIB proxy, including its interceptor chain
+ * Only invocations exceeding the threshold are recorded, the hot path just checks isEnabled
+ */
+@Name("com.minispring.AopInvocation")
+@Label("AOP Invocation")
+@Category({"MiniSpring", "AOP"})
+@Description("Method call through an AOP proxy")
+@Threshold("1 ms")
+public final class AopInvocationEvent extends Event {
+
+    @Label("Proxy Type")
+    String proxyType;
+
+    @Label("Target Class")
+    Class<?> targetClass;
+
+    @Label("Method")
+    String method;
+
+    @Label("Interceptor Count")
+    int interceptorCount;
+
+    /**
+     * Begin event if the event type is enabled in a running recording
+     * @return started event, null if not recording
+     */
+    public static AopInvocationEvent beginIfEnabled() {
+        AopInvocationEvent event = new AopInvocationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Set number of interceptors applied to the call
+     * @param interceptorCount interceptor count
+     */
+    public void setInterceptorCount(int interceptorCount) {
+        this.interceptorCount = interceptorCount;
+    }
+
+    /**
+     * End and commit event if it exceeds the threshold
+     * @param proxyType proxy implementation, "jdk" or "cglib"
+     * @param targetClass target class
+     * @param method invoked method
+     */
+    public void commit(String proxyType, Class<?> targetClass, Method method) {
+        end();
+        if (shouldCommit()) {
+            this.proxyType = proxyType;
+            this.targetClass = targetClass;
+            this.method = method.getName();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.minispring.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Bean creation JFR event
+ * Covers one createBean call, with the duration of its main phases
+ * Durations are inclusive of dependencies created within a phase
+ */
+@Name("com.minispring.BeanCreation")
+@Label("Bean Creation")
+@Category({"MiniSpring", "Container"})
+@Description("Creation of a bean by the bean factory")
+@StackTrace(false)
+@Threshold("0 ms")
+public final class BeanCreationEvent extends Event {
+
+    @Label("Bean Name")
+    String beanName;
+
+    @Label("Scope")
+    String scope;
+
+    @Label("Instantiation")
+    @Timespan
+    long instantiationDuration;
+
+    @Label("Property Population")
+    @Timespan
+    long populationDuration;
+
+    @Label("Initialization")
+    @Timespan
+    long initializationDuration;
+
+    /** Start of the current phase, not recorded */
+    private transient long phaseStart;
+
+    /**
+     * Begin event if the event type is enabled in a running recording
+     * @return started event, null if not recording
+     */
+    public static BeanCreationEvent beginIfEnabled() {
+        BeanCreationEvent event = new BeanCreationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        event.phaseStart = System.nanoTime();
+        return event;
+    }
+
+    /**
+     * Mark end of the instantiation phase
+     */
+    public void instantiated() {
+        this.instantiationDuration = nextPhase();
+    }
+
+    /**
+     * Mark end of the property population phase
+     */
+    public void populated() {
+        this.populationDuration = nextPhase();
+    }
+
+    /**
+     * Mark end of the initialization phase
+     */
+    public void initialized() {
+        this.initializationDuration = nextPhase();
+    }
+
+    /**
+     * End and commit event if it exceeds the threshold
+     * @param beanName bean name
+     * @param scope bean scope
+     */
+    public void commit(String beanName, String scope) {
+        end();
+        if (shouldCommit()) {
+            this.beanName = beanName;
+            this.scope = scope;
+            commit();
+        }
+    }
+
+    private long nextPhase() {
+        long now = System.nanoTime();
+        long duration = now - this.phaseStart;
+        this.phaseStart = now;
+        return duration;
+    }
+}
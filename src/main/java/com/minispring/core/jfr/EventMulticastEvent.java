@@ -0,0 +1,53 @@
+package com.minispring.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Application event multicast JFR event
+ * Covers dispatch of one application event to all matching listeners
+ */
+@Name("com.minispring.EventMulticast")
+@Label("Application Event Multicast")
+@Category({"MiniSpring", "Context"})
+@Description("Dispatch of an application event to its listeners")
+@Threshold("1 ms")
+public final class EventMulticastEvent extends Event {
+
+    @Label("Event Type")
+    Class<?> eventType;
+
+    @Label("Listener Count")
+    int listenerCount;
+
+    /**
+     * Begin event if the event type is enabled in a running recording
+     * @return started event, null if not recording
+     */
+    public static EventMulticastEvent beginIfEnabled() {
+        EventMulticastEvent event = new EventMulticastEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * End and commit event if it exceeds the threshold
+     * @param eventType application event type
+     * @param listenerCount number of listeners invoked
+     */
+    public void commit(Class<?> eventType, int listenerCount) {
+        end();
+        if (shouldCommit()) {
+            this.eventType = eventType;
+            this.listenerCount = listenerCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.minispring.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Application context refresh step JFR event
+ * One event per step of AbstractApplicationContext.refresh
+ */
+@Name("com.minispring.RefreshStep")
+@Label("Context Refresh Step")
+@Category({"MiniSpring", "Context"})
+@Description("Step of the application context refresh")
+@StackTrace(false)
+@Threshold("0 ms")
+public final class RefreshStepEvent extends Event {
+
+    @Label("Step")
+    String step;
+
+    /**
+     * Begin step event if the event type is enabled in a running recording
+     * @param step step name
+     * @return started event, null if not recording
+     */
+    public static RefreshStepEvent beginIfEnabled(String step) {
+        RefreshStepEvent event = new RefreshStepEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.step = step;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commit previous step and begin the next one
+     * @param previous previous step event, may be null
+     * @param step next step name, null if there is no next step
+     * @return started event, null if not recording or no next step
+     */
+    public static RefreshStepEvent next(RefreshStepEvent previous, String step) {
+        if (previous != null) {
+            previous.commit();
+        }
+        return step != null ? beginIfEnabled(step) : null;
+    }
+}
@@ -0,0 +1,103 @@
+package com.minispring.core.trace;
+
+/**
+ * Container trace facade
+ * Static entry point used by container code instead of System.out
+ * Every trace method checks the enabled flag before creating an argument array,
+ * call sites with more than two arguments or computed arguments should check {@link #isEnabled(Class)} themselves
+ */
+public final class ContainerTrace {
+
+    private static volatile ContainerTracer tracer = new Slf4jContainerTracer();
+
+    private ContainerTrace() {
+    }
+
+    /**
+     * Set tracer used by the container
+     * @param containerTracer tracer, null restores the SLF4J tracer
+     */
+    public static void setTracer(ContainerTracer containerTracer) {
+        tracer = containerTracer != null ? containerTracer : new Slf4jContainerTracer();
+    }
+
+    /**
+     * Get tracer used by the container
+     * @return tracer
+     */
+    public static ContainerTracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Check if tracing is enabled for a source class
+     * @param source class emitting the trace
+     * @return whether enabled
+     */
+    public static boolean isEnabled(Class<?> source) {
+        return tracer.isTraceEnabled(source);
+    }
+
+    /**
+     * Trace message without arguments
+     * @param source class emitting the trace
+     * @param message message
+     */
+    public static void trace(Class<?> source, String message) {
+        ContainerTracer current = tracer;
+        if (current.isTraceEnabled(source)) {
+            current.trace(source, message);
+        }
+    }
+
+    /**
+     * Trace message with one argument
+     * @param source class emitting the trace
+     * @param format message with {} placeholder
+     * @param arg argument
+     */
+    public static void trace(Class<?> source, String format, Object arg) {
+        ContainerTracer current = tracer;
+        if (current.isTraceEnabled(source)) {
+            current.trace(source, format, arg);
+        }
+    }
+
+    /**
+     * Trace message with two arguments
+     * @param source class emitting the trace
+     * @param format message with {} placeholders
+     * @param arg1 first argument
+     * @param arg2 second argument
+     */
+    public static void trace(Class<?> source, String format, Object arg1, Object arg2) {
+        ContainerTracer current = tracer;
+        if (current.isTraceEnabled(source)) {
+            current.trace(source, format, arg1, arg2);
+        }
+    }
+
+    /**
+     * Trace message with any number of arguments
+     * The argument array is allocated by the caller, guard with {@link #isEnabled(Class)} on hot paths
+     * @param source class emitting the trace
+     * @param format message with {} placeholders
+     * @param args arguments
+     */
+    public static void trace(Class<?> source, String format, Object... args) {
+        ContainerTracer current = tracer;
+        if (current.isTraceEnabled(source)) {
+            current.trace(source, format, args);
+        }
+    }
+
+    /**
+     * Report error that was handled without failing
+     * @param source class reporting the error
+     * @param message error message
+     * @param ex error, may be null
+     */
+    public static void error(Class<?> source, String message, Throwable ex) {
+        tracer.error(source, message, ex);
+    }
+}
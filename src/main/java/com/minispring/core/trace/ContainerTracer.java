@@ -0,0 +1,33 @@
+package com.minispring.core.trace;
+
+/**
+ * Container tracer SPI
+ * Receives trace output of the container (bean creation, proxy invocation, ...)
+ * Implementations must make {@link #isTraceEnabled(Class)} cheap and allocation-free,
+ * it is checked on every hot path before any message is built
+ */
+public interface ContainerTracer {
+
+    /**
+     * Check if tracing is enabled for a source class
+     * @param source class emitting the trace
+     * @return whether trace messages of the source are recorded
+     */
+    boolean isTraceEnabled(Class<?> source);
+
+    /**
+     * Record trace message, only called when tracing is enabled for the source
+     * @param source class emitting the trace
+     * @param format message with {} placeholders
+     * @param args placeholder arguments
+     */
+    void trace(Class<?> source, String format, Object... args);
+
+    /**
+     * Record error that the container handled without failing, always called
+     * @param source class reporting the error
+     * @param message error message
+     * @param ex error, may be null
+     */
+    void error(Class<?> source, String message, Throwable ex);
+}
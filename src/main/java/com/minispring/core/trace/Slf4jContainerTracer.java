@@ -0,0 +1,34 @@
+package com.minispring.core.trace;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * SLF4J container tracer
+ * Default tracer, writes traces at TRACE level to the logger of the source class
+ * TRACE is disabled unless configured, so the container stays silent by default
+ */
+public class Slf4jContainerTracer implements ContainerTracer {
+
+    private static final ClassValue<Logger> LOGGERS = new ClassValue<>() {
+        @Override
+        protected Logger computeValue(Class<?> type) {
+            return LoggerFactory.getLogger(type);
+        }
+    };
+
+    @Override
+    public boolean isTraceEnabled(Class<?> source) {
+        return LOGGERS.get(source).isTraceEnabled();
+    }
+
+    @Override
+    public void trace(Class<?> source, String format, Object... args) {
+        LOGGERS.get(source).trace(format, args);
+    }
+
+    @Override
+    public void error(Class<?> source, String message, Throwable ex) {
+        LOGGERS.get(source).error(message, ex);
+    }
+}
@@ -0,0 +1,270 @@
+package com.minispring.util;
+
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CGLIB Class Cache
+ * Registry of generated CGLIB subclasses keyed by superclass, callback types and class loader
+ * A class is generated by an Enhancer only once, every instance is then created through the cached
+ * constructor of the generated class with its callbacks registered for the creating thread
+ * No instance is retained, so callbacks and the objects they reference are not pinned by the cache
+ * Generated classes are attached to their superclass through a ClassValue, so they go away with it
+ */
+public final class CglibClassCache {
+
+    /** Generated classes per superclass */
+    private static final ClassValue<Map<GeneratedClassKey, GeneratedClass>> GENERATED_CLASSES = new ClassValue<>() {
+        @Override
+        protected Map<GeneratedClassKey, GeneratedClass> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(4);
+        }
+    };
+
+    private static final LongAdder hitCount = new LongAdder();
+
+    private static final LongAdder missCount = new LongAdder();
+
+    private CglibClassCache() {
+    }
+
+    /**
+     * Create instance of the generated subclass using default constructor
+     *
+     * @param superclass class to subclass
+     * @param callbackTypes callback types, same order as callbacks
+     * @param classLoader class loader, null for CGLIB default
+     * @param callbacks callbacks of the new instance
+     * @return new instance
+     */
+    public static Object newInstance(Class<?> superclass, Class<?>[] callbackTypes, ClassLoader classLoader,
+                                     Callback[] callbacks) {
+        return newInstance(superclass, callbackTypes, classLoader, null, null, callbacks);
+    }
+
+    /**
+     * Create instance of the generated subclass using specified constructor
+     *
+     * @param superclass class to subclass
+     * @param callbackTypes callback types, same order as callbacks
+     * @param classLoader class loader, null for CGLIB default
+     * @param argumentTypes constructor parameter types, null for default constructor
+     * @param args constructor arguments
+     * @param callbacks callbacks of the new instance
+     * @return new instance
+     */
+    public static Object newInstance(Class<?> superclass, Class<?>[] callbackTypes, ClassLoader classLoader,
+                                     Class<?>[] argumentTypes, Object[] args, Callback[] callbacks) {
+        return getGeneratedClass(superclass, callbackTypes, classLoader).instantiate(argumentTypes, args, callbacks);
+    }
+
+    /**
+     * Create instance of the generated subclass without running any constructor
+     * Used for proxies that must not trigger the superclass constructor, callbacks are set on the instance
+     *
+     * @param superclass class to subclass, or interface to implement
+     * @param callbackTypes callback types, same order as callbacks
+     * @param classLoader class loader, null for CGLIB default
+     * @param callbacks callbacks of the new instance
+     * @return new instance
+     * @throws IllegalStateException if the JVM does not support constructor-free instantiation
+     */
+    public static Object newInstanceWithoutConstructor(Class<?> superclass, Class<?>[] callbackTypes,
+                                                       ClassLoader classLoader, Callback[] callbacks) {
+        Object instance = getGeneratedClass(superclass, callbackTypes, classLoader).allocate();
+        ((Factory) instance).setCallbacks(callbacks);
+        return instance;
+    }
+
+    /**
+     * Get generated subclass, generating it on first request
+     *
+     * @param superclass class to subclass
+     * @param callbackTypes callback types
+     * @param classLoader class loader, null for CGLIB default
+     * @return generated class
+     */
+    public static Class<?> getProxyClass(Class<?> superclass, Class<?>[] callbackTypes, ClassLoader classLoader) {
+        return getGeneratedClass(superclass, callbackTypes, classLoader).type;
+    }
+
+    private static GeneratedClass getGeneratedClass(Class<?> superclass, Class<?>[] callbackTypes, ClassLoader classLoader) {
+        Map<GeneratedClassKey, GeneratedClass> generatedClasses = GENERATED_CLASSES.get(superclass);
+        GeneratedClassKey key = new GeneratedClassKey(callbackTypes, classLoader);
+        GeneratedClass generatedClass = generatedClasses.get(key);
+        if (generatedClass != null) {
+            hitCount.increment();
+            return generatedClass;
+        }
+        return generatedClasses.computeIfAbsent(key, k -> {
+            missCount.increment();
+            Enhancer enhancer = new Enhancer();
+            if (classLoader != null) {
+                enhancer.setClassLoader(classLoader);
+            }
+            enhancer.setSuperclass(superclass);
+            enhancer.setCallbackTypes(callbackTypes);
+            enhancer.setUseFactory(true);
+            return new GeneratedClass(enhancer.createClass());
+        });
+    }
+
+    /**
+     * Get number of requests served from the cache
+     *
+     * @return hit count
+     */
+    public static long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Get number of requests that generated a new class
+     *
+     * @return miss count
+     */
+    public static long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Generated class with its constructors resolved so far
+     */
+    private static final class GeneratedClass {
+
+        private static final Class<?>[] NO_ARGUMENT_TYPES = new Class<?>[0];
+
+        private static final Object[] NO_ARGS = new Object[0];
+
+        private final Class<?> type;
+
+        /** Constructor allocating instances without running superclass constructors, created on first use */
+        private volatile Constructor<?> allocator;
+
+        /** Accessible constructors by parameter types */
+        private final Map<List<Class<?>>, Constructor<?>> constructors = new ConcurrentHashMap<>(2);
+
+        GeneratedClass(Class<?> type) {
+            this.type = type;
+        }
+
+        Object instantiate(Class<?>[] argumentTypes, Object[] args, Callback[] callbacks) {
+            Class<?>[] parameterTypes = argumentTypes == null ? NO_ARGUMENT_TYPES : argumentTypes;
+            // Callbacks are bound by the generated constructor from the thread-local registration
+            Enhancer.registerCallbacks(this.type, callbacks);
+            try {
+                return getConstructor(parameterTypes).newInstance(args == null ? NO_ARGS : args);
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException("Constructor of generated class " + this.type.getName() + " failed",
+                        e.getTargetException());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to instantiate generated class " + this.type.getName(), e);
+            } finally {
+                Enhancer.registerCallbacks(this.type, null);
+            }
+        }
+
+        Object allocate() {
+            try {
+                Constructor<?> allocator = this.allocator;
+                if (allocator == null) {
+                    allocator = SerializationConstructors.create(this.type);
+                    this.allocator = allocator;
+                }
+                return allocator.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot instantiate generated class " + this.type.getName()
+                        + " without running a constructor", e);
+            }
+        }
+
+        private Constructor<?> getConstructor(Class<?>[] parameterTypes) throws NoSuchMethodException {
+            List<Class<?>> key = Arrays.asList(parameterTypes);
+            Constructor<?> ctor = this.constructors.get(key);
+            if (ctor == null) {
+                ctor = this.type.getDeclaredConstructor(parameterTypes);
+                ctor.setAccessible(true);
+                this.constructors.put(List.copyOf(key), ctor);
+            }
+            return ctor;
+        }
+    }
+
+    /**
+     * Access to the JDK serialization constructor factory, which only runs Object's constructor
+     * Looked up reflectively since it is not part of the public API
+     */
+    private static final class SerializationConstructors {
+
+        private static final Object REFLECTION_FACTORY;
+
+        private static final Method NEW_CONSTRUCTOR_FOR_SERIALIZATION;
+
+        static {
+            Object factory = null;
+            Method method = null;
+            try {
+                Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+                factory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+                method = factoryClass.getMethod("newConstructorForSerialization", Class.class, Constructor.class);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Not available on this JVM
+            }
+            REFLECTION_FACTORY = factory;
+            NEW_CONSTRUCTOR_FOR_SERIALIZATION = method;
+        }
+
+        static Constructor<?> create(Class<?> type) throws ReflectiveOperationException {
+            if (NEW_CONSTRUCTOR_FOR_SERIALIZATION == null) {
+                throw new NoSuchMethodException("sun.reflect.ReflectionFactory is not available");
+            }
+            Constructor<?> ctor = (Constructor<?>) NEW_CONSTRUCTOR_FOR_SERIALIZATION.invoke(
+                    REFLECTION_FACTORY, type, Object.class.getDeclaredConstructor());
+            ctor.setAccessible(true);
+            return ctor;
+        }
+    }
+
+    /**
+     * Cache key within a superclass: callback types and class loader
+     */
+    private static final class GeneratedClassKey {
+
+        private final Class<?>[] callbackTypes;
+
+        private final ClassLoader classLoader;
+
+        GeneratedClassKey(Class<?>[] callbackTypes, ClassLoader classLoader) {
+            this.callbackTypes = callbackTypes;
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof GeneratedClassKey)) {
+                return false;
+            }
+            GeneratedClassKey that = (GeneratedClassKey) other;
+            return this.classLoader == that.classLoader && Arrays.equals(this.callbackTypes, that.callbackTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(this.callbackTypes) + Objects.hashCode(this.classLoader);
+        }
+    }
+}
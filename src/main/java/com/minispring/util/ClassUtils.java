@@ -1,5 +1,8 @@
 package com.minispring.util;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 /**
  * Class utility, provides utility methods related to class loading
  */
@@ -42,4 +45,27 @@ public class ClassUtils {
             return false;
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Get all types the given class is assignable to
+     * Includes the class itself, all superclasses and all (transitively) implemented interfaces
+     */
+    public static Set<Class<?>> getAllAssignableTypes(Class<?> clazz) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        collectAssignableTypes(clazz, types);
+        if (clazz.isInterface()) {
+            types.add(Object.class);
+        }
+        return types;
+    }
+    
+    private static void collectAssignableTypes(Class<?> clazz, Set<Class<?>> types) {
+        if (clazz == null || !types.add(clazz)) {
+            return;
+        }
+        collectAssignableTypes(clazz.getSuperclass(), types);
+        for (Class<?> iface : clazz.getInterfaces()) {
+            collectAssignableTypes(iface, types);
+        }
+    }
+}
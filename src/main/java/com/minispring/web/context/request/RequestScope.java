@@ -3,6 +3,7 @@ package com.minispring.web.context.request;
 import com.minispring.beans.BeansException;
 import com.minispring.beans.factory.ObjectFactory;
 import com.minispring.beans.factory.config.Scope;
+import com.minispring.core.trace.ContainerTrace;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -62,7 +63,7 @@ public class RequestScope implements Scope {
                 entry.getValue().run();
             }
             catch (Throwable ex) {
-                System.err.println("Exception thrown while executing destruction callback for request bean [" + entry.getKey() + "]: " + ex);
+                ContainerTrace.error(RequestScope.class, "Exception thrown while executing destruction callback for request bean [" + entry.getKey() + "]", ex);
             }
         }
         
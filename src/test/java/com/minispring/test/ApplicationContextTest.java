@@ -1,9 +1,21 @@
 package com.minispring.test;
 
+import com.minispring.beans.factory.config.BeanDefinition;
+import com.minispring.beans.factory.support.DefaultListableBeanFactory;
 import com.minispring.context.ApplicationContext;
+import com.minispring.context.support.ApplicationContextAwareProcessor;
 import com.minispring.context.support.ClassPathXmlApplicationContext;
+import com.minispring.context.support.StartupProfile;
+import com.minispring.test.bean.AutowiredBean;
+import com.minispring.test.bean.LifecycleBean;
 import com.minispring.test.bean.TestBean;
+import com.minispring.test.bean.UserDaoImpl;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -47,4 +59,103 @@ public class ApplicationContextTest {
             System.out.println("- " + name);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Test ApplicationContextAware beans are processed when the definition does not reveal their class
+     */
+    @Test
+    public void testApplicationContextAwareSupplierBean() {
+        ApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:spring.xml");
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.addBeanPostProcessor(new ApplicationContextAwareProcessor(applicationContext));
+        beanFactory.registerBean("supplied", Object.class, () -> new TestBean("supplied"));
+        
+        TestBean testBean = (TestBean) beanFactory.getBean("supplied");
+        assertSame(applicationContext, testBean.getApplicationContext());
+    }
+    
+    /**
+     * Test recording a startup profile and preloading only the recorded beans
+     */
+    @Test
+    public void testStartupProfile(@TempDir Path tempDir) throws IOException, InterruptedException {
+        Path profileLocation = tempDir.resolve("startup.profile");
+        String[] configLocations = {"classpath:spring.xml"};
+        
+        // Record beans requested after refresh, saved on close
+        ClassPathXmlApplicationContext recording = new ClassPathXmlApplicationContext(configLocations, false);
+        recording.setStartupProfile(profileLocation, StartupProfile.Mode.RECORD);
+        recording.refresh();
+        recording.getBean("testService");
+        recording.getBean("lifecycleBean");
+        recording.getBean("testService");
+        
+        // Refreshing again saves the running recording before the bean factory is replaced
+        recording.refresh();
+        StartupProfile profile = StartupProfile.load(profileLocation);
+        assertEquals(List.of("testService", "lifecycleBean"), profile.getBeanNames());
+        recording.getBean("testService");
+        recording.getBean("lifecycleBean");
+        recording.close();
+        assertTrue(recordingTimerStopped(), "Closing the context releases the recording window timer");
+        profile = StartupProfile.load(profileLocation);
+        assertEquals(List.of("testService", "lifecycleBean"), profile.getBeanNames());
+        
+        // Preload creates the recorded beans and their dependencies only
+        ClassPathXmlApplicationContext preloading = new ClassPathXmlApplicationContext(configLocations, false);
+        preloading.setStartupProfile(profileLocation, StartupProfile.Mode.PRELOAD);
+        preloading.refresh();
+        DefaultListableBeanFactory beanFactory = (DefaultListableBeanFactory) preloading.getBeanFactory();
+        assertNotNull(beanFactory.getSingleton("testService"));
+        assertNotNull(beanFactory.getSingleton("testBean"));
+        assertNotNull(beanFactory.getSingleton("lifecycleBean"));
+        assertNull(beanFactory.getSingleton("testBeanWithLifecycle"));
+        assertNotNull(preloading.getBean("testBeanWithLifecycle"));
+        preloading.close();
+        
+        // A profile recorded against other definitions is ignored and recorded again
+        new StartupProfile("outdated", List.of("testService")).save(profileLocation);
+        ClassPathXmlApplicationContext outdated = new ClassPathXmlApplicationContext(configLocations, false);
+        outdated.setStartupProfile(profileLocation, StartupProfile.Mode.PRELOAD);
+        outdated.refresh();
+        beanFactory = (DefaultListableBeanFactory) outdated.getBeanFactory();
+        assertNotNull(beanFactory.getSingleton("testBeanWithLifecycle"));
+        outdated.getBean("testBean");
+        outdated.close();
+        profile = StartupProfile.load(profileLocation);
+        assertTrue(profile.matches(beanFactory));
+        assertEquals(List.of("testBean"), profile.getBeanNames());
+    }
+    
+    /**
+     * Test that the startup profile fingerprint covers lifecycle settings of the definitions
+     */
+    @Test
+    public void testStartupProfileFingerprint() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDaoImpl.class));
+        beanFactory.registerBeanDefinition("lifecycleBean", new BeanDefinition(LifecycleBean.class));
+        beanFactory.registerBeanDefinition("autowiredBean", new BeanDefinition(AutowiredBean.class));
+        String fingerprint = StartupProfile.fingerprint(beanFactory);
+        assertEquals(fingerprint, StartupProfile.fingerprint(beanFactory));
+        
+        beanFactory.getBeanDefinition("lifecycleBean").setInitMethodName("init");
+        String withInitMethod = StartupProfile.fingerprint(beanFactory);
+        assertNotEquals(fingerprint, withInitMethod);
+        
+        beanFactory.getBeanDefinition("autowiredBean").setAsyncInit(true);
+        assertNotEquals(withInitMethod, StartupProfile.fingerprint(beanFactory));
+    }
+    
+    private static boolean recordingTimerStopped() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            boolean running = Thread.getAllStackTraces().keySet().stream()
+                    .anyMatch(thread -> thread.getName().equals("startup-profile-recorder"));
+            if (!running) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,108 @@
+package com.minispring.test;
+
+import com.minispring.beans.BeansException;
+import com.minispring.beans.PropertyValue;
+import com.minispring.beans.factory.config.BeanDefinition;
+import com.minispring.beans.factory.support.DefaultListableBeanFactory;
+import com.minispring.test.bean.LifecycleBean;
+import com.minispring.test.bean.UserDao;
+import com.minispring.test.bean.UserDaoImpl;
+import com.minispring.test.bean.UserService;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bean definition registry test class
+ * Test registration, type index and frozen configuration
+ */
+public class BeanDefinitionRegistryTest {
+
+    /**
+     * Test bean name lookup by type through the type index
+     */
+    @Test
+    public void testGetBeanNamesForType() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDaoImpl.class));
+        
+        // Lookup by interface and by class
+        assertArrayEquals(new String[]{"userDao"}, beanFactory.getBeanNamesForType(UserDao.class));
+        assertArrayEquals(new String[]{"userDao"}, beanFactory.getBeanNamesForType(UserDaoImpl.class));
+        assertTrue(beanFactory.getBean(UserDao.class) instanceof UserDaoImpl);
+        
+        // Re-registering with another class updates the index
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserService.class));
+        assertEquals(0, beanFactory.getBeanNamesForType(UserDao.class).length);
+        assertArrayEquals(new String[]{"userDao"}, beanFactory.getBeanNamesForType(UserService.class));
+        assertEquals(1, beanFactory.getBeanNamesForType(Object.class).length);
+    }
+    
+    /**
+     * Test bulk registration and frozen configuration
+     */
+    @Test
+    public void testBulkRegistrationAndFreeze() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        
+        Map<String, BeanDefinition> beanDefinitions = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            beanDefinitions.put("userDao" + i, new BeanDefinition(UserDaoImpl.class));
+        }
+        beanFactory.registerBeanDefinitions(beanDefinitions);
+        assertEquals(100, beanFactory.getBeanNamesForType(UserDao.class).length);
+        
+        // Replaced names keep their registration position, as with single registration
+        Map<String, BeanDefinition> replacements = new LinkedHashMap<>();
+        replacements.put("userDao1", new BeanDefinition(UserDaoImpl.class));
+        replacements.put("userDao0", new BeanDefinition(UserDaoImpl.class));
+        beanFactory.registerBeanDefinitions(replacements);
+        assertEquals("userDao1", beanFactory.getBeanDefinitionNames()[1]);
+        assertSame(replacements.get("userDao0"), beanFactory.getBeanDefinition("userDao0"));
+        assertEquals(100, beanFactory.getBeanDefinitionNames().length);
+        
+        // Frozen registry keeps serving lookups in registration order and rejects registrations
+        beanFactory.freezeConfiguration();
+        assertTrue(beanFactory.isConfigurationFrozen());
+        assertEquals("userDao0", beanFactory.getBeanDefinitionNames()[0]);
+        assertEquals("userDao99", beanFactory.getBeanDefinitionNames()[99]);
+        assertTrue(beanFactory.containsBeanDefinition("userDao42"));
+        assertFalse(beanFactory.containsBeanDefinition("userDao100"));
+        assertSame(beanDefinitions.get("userDao7"), beanFactory.getBeanDefinition("userDao7"));
+        assertThrows(BeansException.class,
+                () -> beanFactory.registerBeanDefinition("userService", new BeanDefinition(UserService.class)));
+    }
+    
+    /**
+     * Test beans created by a supplier instead of reflection
+     */
+    @Test
+    public void testSupplierBeanRegistration() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBean("userDao", UserDaoImpl.class, UserDaoImpl::new);
+        AtomicInteger supplied = new AtomicInteger();
+        beanFactory.registerBean("lifecycleBean", LifecycleBean.class, () -> {
+            supplied.incrementAndGet();
+            return new LifecycleBean();
+        }, definition -> {
+            definition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+            definition.setInitMethodName("init");
+            definition.getPropertyValues().addPropertyValue(new PropertyValue("name", "supplied"));
+        });
+        
+        // Supplied instances still get properties and init methods applied
+        LifecycleBean lifecycleBean = (LifecycleBean) beanFactory.getBean("lifecycleBean");
+        assertEquals("supplied", lifecycleBean.getName());
+        assertTrue(lifecycleBean.isInitialized());
+        assertNotSame(lifecycleBean, beanFactory.getBean("lifecycleBean"));
+        assertEquals(2, supplied.get());
+        assertSame(beanFactory.getBean("userDao"), beanFactory.getBean(UserDao.class));
+        
+        beanFactory.registerBean("nullBean", UserDao.class, () -> null);
+        assertThrows(BeansException.class, () -> beanFactory.getBean("nullBean"));
+    }
+}
@@ -1,12 +1,31 @@
 package com.minispring.test;
 
+import com.minispring.beans.BeansException;
+import com.minispring.beans.PropertyValue;
+import com.minispring.beans.PropertyValues;
 import com.minispring.beans.factory.config.BeanDefinition;
+import com.minispring.beans.factory.config.BeanPostProcessor;
+import com.minispring.beans.factory.config.BeanReference;
+import com.minispring.beans.factory.config.SelectiveBeanPostProcessor;
 import com.minispring.beans.factory.support.DefaultListableBeanFactory;
+import com.minispring.test.bean.AsyncInitBean;
 import com.minispring.test.bean.LifecycleBean;
 import com.minispring.test.bean.LifecycleBeanWithInterface;
+import com.minispring.test.bean.PrototypeBean;
+import com.minispring.test.bean.UserDao;
+import com.minispring.test.bean.UserDaoImpl;
 import com.minispring.test.processor.CustomBeanPostProcessor;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -71,4 +90,226 @@ public class BeanLifecycleTest {
         // Verify Bean is initialized
         assertTrue(lifecycleBean.isInitialized());
     }
-}
\ No newline at end of file
+    
+    /**
+     * Test lookups during an asynchronous init wait for the init and the post-processing after it
+     */
+    @Test
+    public void testLookupDuringAsyncInit() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        CountDownLatch submitted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        beanFactory.setAsyncInitExecutor(runnable -> new Thread(() -> {
+            submitted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            runnable.run();
+        }, "async-init").start());
+        List<Boolean> postProcessedInitialized = Collections.synchronizedList(new ArrayList<>());
+        beanFactory.addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                postProcessedInitialized.add(((AsyncInitBean) bean).isInitialized());
+                return bean;
+            }
+        });
+        
+        BeanDefinition slowDefinition = new BeanDefinition(AsyncInitBean.class);
+        slowDefinition.setInitMethodName("init");
+        slowDefinition.setAsyncInit(true);
+        beanFactory.registerBeanDefinition("slow", slowDefinition);
+        
+        CompletableFuture<Void> startup = CompletableFuture.runAsync(beanFactory::preInstantiateSingletons);
+        assertTrue(submitted.await(5, TimeUnit.SECONDS));
+        
+        // The bean is registered, but every kind of lookup waits until the init has run
+        CompletableFuture<Object> lookup = CompletableFuture.supplyAsync(() -> beanFactory.getBean("slow"));
+        CompletableFuture<Object> providerLookup = CompletableFuture.supplyAsync(
+                () -> beanFactory.getBeanProvider("slow").getObject());
+        CompletableFuture<Object> handleLookup = CompletableFuture.supplyAsync(
+                () -> beanFactory.getBeanHandle("slow").getBean());
+        Thread.sleep(100);
+        assertFalse(lookup.isDone());
+        assertFalse(providerLookup.isDone());
+        assertFalse(handleLookup.isDone());
+        assertTrue(postProcessedInitialized.isEmpty());
+        
+        release.countDown();
+        AsyncInitBean slow = (AsyncInitBean) lookup.get(5, TimeUnit.SECONDS);
+        assertTrue(slow.isInitialized());
+        assertSame(slow, providerLookup.get(5, TimeUnit.SECONDS));
+        assertSame(slow, handleLookup.get(5, TimeUnit.SECONDS));
+        startup.get(5, TimeUnit.SECONDS);
+        
+        // After-initialization post-processing ran once, after the init method
+        assertEquals(List.of(true), postProcessedInitialized);
+    }
+    
+    /**
+     * Test post-processors applied only to matching definitions
+     */
+    @Test
+    public void testSelectiveBeanPostProcessor() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanDefinition userDaoDefinition = new BeanDefinition(UserDaoImpl.class);
+        userDaoDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("userDao", userDaoDefinition);
+        BeanDefinition prototypeDefinition = new BeanDefinition(PrototypeBean.class);
+        prototypeDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("prototypeBean", prototypeDefinition);
+        
+        List<String> processed = new ArrayList<>();
+        beanFactory.addBeanPostProcessor(new SelectiveBeanPostProcessor() {
+            @Override
+            public boolean appliesTo(BeanDefinition beanDefinition) {
+                return UserDao.class.isAssignableFrom(beanDefinition.getBeanClass());
+            }
+            
+            @Override
+            public boolean hasBeforeInitialization() {
+                return false;
+            }
+            
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                processed.add(beanName);
+                return bean;
+            }
+        });
+        
+        beanFactory.getBean("userDao");
+        beanFactory.getBean("prototypeBean");
+        beanFactory.getBean("userDao");
+        assertEquals(List.of("userDao", "userDao"), processed);
+        
+        // Adding a processor rebuilds the cached pipelines
+        beanFactory.addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                processed.add("all:" + beanName);
+                return bean;
+            }
+        });
+        beanFactory.getBean("prototypeBean");
+        assertEquals(List.of("userDao", "userDao", "all:prototypeBean"), processed);
+    }
+    
+    /**
+     * Test parallel, dependency-aware singleton destruction
+     */
+    @Test
+    public void testParallelSingletonDestruction() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setParallelDestruction(true);
+        beanFactory.setBeanDestructionTimeout(Duration.ofMillis(500));
+        beanFactory.setDestructionTimeout(Duration.ofSeconds(5));
+        
+        // Both pools only finish when destroyed concurrently
+        List<String> destroyed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch poolsClosing = new CountDownLatch(2);
+        for (String poolName : List.of("pool1", "pool2")) {
+            beanFactory.registerSingleton(poolName, new Object());
+            beanFactory.registerDisposableBean(poolName, () -> {
+                poolsClosing.countDown();
+                assertTrue(poolsClosing.await(2, TimeUnit.SECONDS));
+                destroyed.add(poolName);
+            });
+        }
+        beanFactory.registerSingleton("service", new Object());
+        beanFactory.registerDisposableBean("service", () -> destroyed.add("service"));
+        beanFactory.registerDependentBean("pool1", "service");
+        beanFactory.registerDependentBean("pool2", "service");
+        
+        // Failing and hanging beans are reported without stopping the others
+        beanFactory.registerSingleton("failing", new Object());
+        beanFactory.registerDisposableBean("failing", () -> {
+            throw new IllegalStateException("close failed");
+        });
+        CountDownLatch hangingInterrupted = new CountDownLatch(1);
+        beanFactory.registerSingleton("hanging", new Object());
+        beanFactory.registerDisposableBean("hanging", () -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                hangingInterrupted.countDown();
+                throw e;
+            }
+        });
+        
+        BeansException exception = assertThrows(BeansException.class, beanFactory::destroySingletons);
+        assertTrue(exception.getMessage().contains("failing"), exception.getMessage());
+        assertTrue(exception.getMessage().contains("hanging"), exception.getMessage());
+        
+        // The timed out callback is interrupted instead of running on in the background
+        assertTrue(hangingInterrupted.await(1, TimeUnit.SECONDS));
+        assertEquals("service", destroyed.get(0));
+        assertEquals(Set.of("service", "pool1", "pool2"), Set.copyOf(destroyed));
+        assertNull(beanFactory.getSingleton("service"));
+    }
+    
+    /**
+     * Test every destroy callback runs once when a bean is released while the first beans are still being submitted
+     */
+    @Test
+    public void testParallelDestructionRunsCallbacksOnce() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setParallelDestruction(true);
+        // Callbacks run inline, so the service releases the pool before the pool itself is looked at
+        beanFactory.setDestructionExecutor(Runnable::run);
+        
+        List<String> destroyed = Collections.synchronizedList(new ArrayList<>());
+        for (String beanName : List.of("service", "pool", "cache")) {
+            beanFactory.registerSingleton(beanName, new Object());
+            beanFactory.registerDisposableBean(beanName, () -> destroyed.add(beanName));
+        }
+        beanFactory.registerDependentBean("pool", "service");
+        
+        beanFactory.destroySingletons();
+        assertEquals(3, destroyed.size());
+        assertEquals(Set.of("service", "pool", "cache"), Set.copyOf(destroyed));
+        assertTrue(destroyed.indexOf("service") < destroyed.indexOf("pool"));
+    }
+    
+    /**
+     * Test init methods run asynchronously during pre-instantiation
+     */
+    @Test
+    public void testAsyncInit() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setAsyncInitExecutor(runnable -> new Thread(runnable, "async-init").start());
+        
+        BeanDefinition slowDefinition = new BeanDefinition(AsyncInitBean.class);
+        slowDefinition.setInitMethodName("init");
+        slowDefinition.setAsyncInit(true);
+        beanFactory.registerBeanDefinition("slow", slowDefinition);
+        BeanDefinition independentDefinition = new BeanDefinition(AsyncInitBean.class);
+        independentDefinition.setInitMethodName("init");
+        independentDefinition.setAsyncInit(true);
+        beanFactory.registerBeanDefinition("independent", independentDefinition);
+        
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("dependency", new BeanReference("slow")));
+        beanFactory.registerBeanDefinition("dependent", new BeanDefinition(AsyncInitBean.class, propertyValues));
+        
+        beanFactory.preInstantiateSingletons();
+        
+        // Dependents only see initialized beans, and the factory is ready only once every init completed
+        AsyncInitBean slow = (AsyncInitBean) beanFactory.getBean("slow");
+        AsyncInitBean independent = (AsyncInitBean) beanFactory.getBean("independent");
+        AsyncInitBean dependent = (AsyncInitBean) beanFactory.getBean("dependent");
+        assertTrue(dependent.isDependencyInitialized());
+        assertTrue(slow.isInitialized());
+        assertTrue(independent.isInitialized());
+        assertEquals("async-init", slow.getInitThread().getName());
+        assertEquals("async-init", independent.getInitThread().getName());
+        
+        // Outside pre-instantiation init methods run inline
+        beanFactory.registerBeanDefinition("late", slowDefinition);
+        AsyncInitBean late = (AsyncInitBean) beanFactory.getBean("late");
+        assertTrue(late.isInitialized());
+        assertSame(Thread.currentThread(), late.getInitThread());
+    }
+}
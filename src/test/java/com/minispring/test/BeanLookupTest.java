@@ -0,0 +1,161 @@
+package com.minispring.test;
+
+import com.minispring.beans.BeansException;
+import com.minispring.beans.PropertyValue;
+import com.minispring.beans.factory.BeanFactory;
+import com.minispring.beans.factory.BeanHandle;
+import com.minispring.beans.factory.config.BeanDefinition;
+import com.minispring.beans.factory.config.BeanReference;
+import com.minispring.beans.factory.support.DefaultListableBeanFactory;
+import com.minispring.test.bean.PrototypeBean;
+import com.minispring.test.bean.UserDao;
+import com.minispring.test.bean.UserDaoImpl;
+import com.minispring.test.bean.UserService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bean lookup test class
+ * Test bean handles and parent factory lookups
+ */
+public class BeanLookupTest {
+
+    /**
+     * Test prototype handles create beans without resolving the bean name again
+     */
+    @Test
+    public void testPrototypeHandleSkipsNameResolution() {
+        Map<String, Integer> definitionLookups = new ConcurrentHashMap<>();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory() {
+            @Override
+            public BeanDefinition getBeanDefinition(String beanName) {
+                definitionLookups.merge(beanName, 1, Integer::sum);
+                return super.getBeanDefinition(beanName);
+            }
+        };
+        BeanDefinition prototypeDefinition = new BeanDefinition(PrototypeBean.class);
+        prototypeDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("prototypeBean", prototypeDefinition);
+        
+        BeanHandle<PrototypeBean> handle = beanFactory.getBeanHandle("prototypeBean");
+        assertNotNull(handle.getBean());
+        int lookupsAfterFirstAccess = definitionLookups.getOrDefault("prototypeBean", 0);
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(handle.getBean());
+        }
+        assertEquals(lookupsAfterFirstAccess, definitionLookups.getOrDefault("prototypeBean", 0));
+        
+        // Registering definitions resolves the handle again
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDaoImpl.class));
+        assertNotNull(handle.getBean());
+        assertEquals(lookupsAfterFirstAccess + 1, definitionLookups.get("prototypeBean"));
+    }
+    
+    /**
+     * Test default bean handles of factories without own handle support
+     */
+    @Test
+    public void testDefaultBeanHandle() {
+        UserDao userDao = new UserDaoImpl();
+        BeanFactory beanFactory = new BeanFactory() {
+            @Override
+            public Object getBean(String name) throws BeansException {
+                if (!containsBean(name)) {
+                    throw new BeansException("No bean named '" + name + "' available");
+                }
+                return userDao;
+            }
+            
+            @Override
+            public <T> T getBean(String name, Class<T> requiredType) throws BeansException {
+                return requiredType.cast(getBean(name));
+            }
+            
+            @Override
+            public <T> T getBean(Class<T> requiredType) throws BeansException {
+                return getBean("userDao", requiredType);
+            }
+            
+            @Override
+            public Object getBean(String name, Object... args) throws BeansException {
+                return getBean(name);
+            }
+            
+            @Override
+            public boolean containsBean(String name) {
+                return "userDao".equals(name);
+            }
+        };
+        
+        // Handles by name look the bean up on each access, handles by type are not supported
+        BeanHandle<UserDao> handle = beanFactory.getBeanHandle("userDao");
+        assertEquals("userDao", handle.getBeanName());
+        assertSame(userDao, handle.getBean());
+        assertTrue(handle.isValid());
+        assertThrows(BeansException.class, () -> beanFactory.getBeanHandle("missing"));
+        assertThrows(BeansException.class, () -> beanFactory.getBeanHandle(UserDao.class));
+    }
+    
+    /**
+     * Test bean handles for repeated lookups
+     */
+    @Test
+    public void testBeanHandle() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDaoImpl.class));
+        BeanDefinition prototypeDefinition = new BeanDefinition(PrototypeBean.class);
+        prototypeDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("prototypeBean", prototypeDefinition);
+        
+        BeanHandle<UserDao> userDaoHandle = beanFactory.getBeanHandle(UserDao.class);
+        assertEquals("userDao", userDaoHandle.getBeanName());
+        assertSame(beanFactory.getBean("userDao"), userDaoHandle.getBean());
+        assertSame(userDaoHandle.getBean(), userDaoHandle.getBean());
+        
+        BeanHandle<PrototypeBean> prototypeHandle = beanFactory.getBeanHandle("prototypeBean");
+        assertNotSame(prototypeHandle.getBean(), prototypeHandle.getBean());
+        assertThrows(BeansException.class, () -> beanFactory.getBeanHandle("missing"));
+        
+        // Destroying singletons invalidates handles
+        beanFactory.destroySingletons();
+        assertFalse(prototypeHandle.isValid());
+        assertFalse(userDaoHandle.isValid());
+        assertThrows(BeansException.class, userDaoHandle::getBean);
+        assertTrue(beanFactory.getBeanHandle("userDao").isValid());
+    }
+    
+    /**
+     * Test delegation of unknown beans to the parent factory
+     */
+    @Test
+    public void testParentBeanFactoryLookup() {
+        DefaultListableBeanFactory parent = new DefaultListableBeanFactory();
+        parent.registerBeanDefinition("userDao", new BeanDefinition(UserDaoImpl.class));
+        
+        DefaultListableBeanFactory child = new DefaultListableBeanFactory();
+        child.setParentBeanFactory(parent);
+        BeanDefinition userServiceDefinition = new BeanDefinition(UserService.class);
+        userServiceDefinition.getPropertyValues().addPropertyValue(new PropertyValue("userDao", new BeanReference("userDao")));
+        child.registerBeanDefinition("userService", userServiceDefinition);
+        
+        // Parent beans are found by name, by type and as references of child beans
+        Object userDao = parent.getBean("userDao");
+        assertSame(userDao, child.getBean("userDao"));
+        assertSame(userDao, child.getBean("userDao"));
+        assertSame(userDao, child.getBean(UserDao.class));
+        assertSame(userDao, child.getBeanHandle(UserDao.class).getBean());
+        assertSame(userDao, ((UserService) child.getBean("userService")).getUserDao());
+        assertEquals(UserDaoImpl.class, child.getType("userDao"));
+        assertTrue(child.containsBean("userDao"));
+        assertFalse(child.containsLocalBean("userDao"));
+        
+        // A local definition registered later shadows the parent bean
+        child.registerBeanDefinition("userDao", new BeanDefinition(UserDaoImpl.class));
+        assertNotSame(userDao, child.getBean("userDao"));
+        assertThrows(BeansException.class, () -> child.getBean("missing"));
+    }
+}
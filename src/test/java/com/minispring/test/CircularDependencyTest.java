@@ -4,10 +4,18 @@ import com.minispring.beans.PropertyValue;
 import com.minispring.beans.PropertyValues;
 import com.minispring.beans.factory.config.BeanDefinition;
 import com.minispring.beans.factory.config.BeanReference;
+import com.minispring.beans.BeansException;
 import com.minispring.beans.factory.support.DefaultListableBeanFactory;
+import com.minispring.beans.factory.support.DependencyGraph;
 import com.minispring.context.support.ClassPathXmlApplicationContext;
+import com.minispring.test.bean.AutowiredBean;
+import com.minispring.test.bean.PrototypeBean;
+import com.minispring.test.bean.UserDaoImpl;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -200,4 +208,91 @@ public class CircularDependencyTest {
             this.serviceA = serviceA;
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Test static dependency graph
+     * Constructor-only cycles are reported with their path, property cycles are grouped
+     */
+    @Test
+    public void testDependencyGraph() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        
+        BeanDefinition beanDefinitionA = new BeanDefinition(TestServiceA.class);
+        beanDefinitionA.getPropertyValues().addPropertyValue(new PropertyValue("serviceB", new BeanReference("serviceB")));
+        beanFactory.registerBeanDefinition("serviceA", beanDefinitionA);
+        BeanDefinition beanDefinitionB = new BeanDefinition(TestServiceB.class);
+        beanDefinitionB.getPropertyValues().addPropertyValue(new PropertyValue("serviceA", new BeanReference("serviceA")));
+        beanFactory.registerBeanDefinition("serviceB", beanDefinitionB);
+        beanFactory.registerBeanDefinition("constructorServiceB", new BeanDefinition(ConstructorServiceB.class));
+        
+        DependencyGraph graph = beanFactory.getDependencyGraph();
+        assertEquals(List.of(List.of("serviceA", "serviceB")), graph.getCycles());
+        assertEquals(0, graph.getDepth("serviceA"));
+        assertEquals(1, graph.getDepth("constructorServiceB"));
+        List<String> order = graph.getTopologicalOrder();
+        assertTrue(order.indexOf("serviceA") < order.indexOf("constructorServiceB"));
+        
+        // Constructor cycle cannot be resolved through early references
+        beanFactory.registerBeanDefinition("constructorServiceA", new BeanDefinition(ConstructorServiceA.class));
+        BeansException exception = assertThrows(BeansException.class, beanFactory::getDependencyGraph);
+        assertTrue(exception.getMessage().contains("constructorServiceB -> constructorServiceA -> constructorServiceB"),
+                exception.getMessage());
+    }
+    
+    /**
+     * Test graph edges follow the candidates autowiring chooses
+     * Only the constructor that can be satisfied and the matching bean of a type count, supplier beans have no constructor edges
+     */
+    @Test
+    public void testDependencyGraphFollowsAutowiring() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("serviceA", new BeanDefinition(TestServiceA.class));
+        beanFactory.registerBeanDefinition("serviceB", new BeanDefinition(TestServiceB.class));
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDaoImpl.class));
+        beanFactory.registerBeanDefinition("otherUserDao", new BeanDefinition(UserDaoImpl.class));
+        beanFactory.registerBeanDefinition("prototypeBean", new BeanDefinition(PrototypeBean.class));
+        beanFactory.registerBeanDefinition("fallbackService", new BeanDefinition(FallbackConstructorService.class));
+        beanFactory.registerBeanDefinition("autowiredBean", new BeanDefinition(AutowiredBean.class));
+        beanFactory.registerBean("suppliedService", FallbackConstructorService.class,
+                () -> new FallbackConstructorService(new TestServiceB()));
+        
+        DependencyGraph graph = beanFactory.getDependencyGraph();
+        assertEquals(Set.of("serviceB"), graph.getDependencies("fallbackService"));
+        assertEquals(Set.of("userDao", "prototypeBean"), graph.getDependencies("autowiredBean"));
+        assertEquals(Set.of(), graph.getDependencies("suppliedService"));
+    }
+    
+    /**
+     * Test only the arguments of the chosen constructor are registered as dependencies
+     */
+    @Test
+    public void testAbandonedConstructorRegistersNoDependents() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("serviceA", new BeanDefinition(TestServiceA.class));
+        beanFactory.registerBeanDefinition("serviceB", new BeanDefinition(TestServiceB.class));
+        beanFactory.registerBeanDefinition("fallbackService", new BeanDefinition(FallbackConstructorService.class));
+        
+        // The greedier constructor resolves serviceA before it is abandoned for the missing second argument
+        beanFactory.getBean("fallbackService");
+        assertEquals(0, beanFactory.getDependentBeans("serviceA").length);
+        assertArrayEquals(new String[] {"fallbackService"}, beanFactory.getDependentBeans("serviceB"));
+    }
+    
+    public static class FallbackConstructorService {
+        public FallbackConstructorService(TestServiceA serviceA, ConstructorServiceA constructorServiceA) {
+        }
+        
+        public FallbackConstructorService(TestServiceB serviceB) {
+        }
+    }
+    
+    public static class ConstructorServiceA {
+        public ConstructorServiceA(ConstructorServiceB serviceB) {
+        }
+    }
+    
+    public static class ConstructorServiceB {
+        public ConstructorServiceB(ConstructorServiceA serviceA, TestServiceA testServiceA) {
+        }
+    }
+}
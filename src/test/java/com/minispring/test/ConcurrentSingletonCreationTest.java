@@ -0,0 +1,307 @@
+package com.minispring.test;
+
+import com.minispring.beans.BeansException;
+import com.minispring.beans.PropertyValue;
+import com.minispring.beans.PropertyValues;
+import com.minispring.beans.factory.DisposableBean;
+import com.minispring.beans.factory.config.BeanDefinition;
+import com.minispring.beans.factory.config.BeanReference;
+import com.minispring.beans.factory.support.DefaultListableBeanFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent singleton creation test class
+ * Test per-bean creation locks
+ */
+public class ConcurrentSingletonCreationTest {
+
+    /**
+     * Test that unrelated singletons are created concurrently
+     * Each bean's init method waits until the other one is initializing as well
+     */
+    @Test
+    public void testUnrelatedSingletonsCreatedConcurrently() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setPerBeanCreationLock(true);
+
+        BeanDefinition firstDefinition = new BeanDefinition(SlowBeanA.class);
+        firstDefinition.setInitMethodName("init");
+        beanFactory.registerBeanDefinition("slowBeanA", firstDefinition);
+
+        BeanDefinition secondDefinition = new BeanDefinition(SlowBeanB.class);
+        secondDefinition.setInitMethodName("init");
+        beanFactory.registerBeanDefinition("slowBeanB", secondDefinition);
+
+        CountDownLatch bothInitializing = new CountDownLatch(2);
+        SlowBeanA.latch = bothInitializing;
+        SlowBeanB.latch = bothInitializing;
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> first = executor.submit(() -> beanFactory.getBean("slowBeanA"));
+            Future<Object> second = executor.submit(() -> beanFactory.getBean("slowBeanB"));
+
+            SlowBeanA beanA = (SlowBeanA) first.get(5, TimeUnit.SECONDS);
+            SlowBeanB beanB = (SlowBeanB) second.get(5, TimeUnit.SECONDS);
+
+            // Both init methods saw each other running
+            assertTrue(beanA.sawConcurrentInit);
+            assertTrue(beanB.sawConcurrentInit);
+            assertSame(beanA, beanFactory.getBean("slowBeanA"));
+            assertSame(beanB, beanFactory.getBean("slowBeanB"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that destroy callbacks of singletons created concurrently are all registered
+     */
+    @Test
+    public void testDestroyCallbacksAfterConcurrentCreation() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setPerBeanCreationLock(true);
+        int beanCount = 200;
+        for (int i = 0; i < beanCount; i++) {
+            beanFactory.registerBeanDefinition("disposableBean" + i, new BeanDefinition(CountingDisposableBean.class));
+        }
+        CountingDisposableBean.destroyed.set(0);
+
+        int threadCount = 8;
+        CyclicBarrier start = new CyclicBarrier(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    for (int i = offset; i < beanCount; i += threadCount) {
+                        beanFactory.getBean("disposableBean" + i);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        beanFactory.destroySingletons();
+        assertEquals(beanCount, CountingDisposableBean.destroyed.get());
+    }
+
+    /**
+     * Test circular dependency whose two beans are created by two different threads at the same time
+     */
+    @Test
+    public void testCrossThreadCircularDependency() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setPerBeanCreationLock(true);
+
+        BeanDefinition definitionA = new BeanDefinition(CyclicBeanA.class);
+        PropertyValues propertyValuesA = new PropertyValues();
+        propertyValuesA.addPropertyValue(new PropertyValue("other", new BeanReference("cyclicBeanB")));
+        definitionA.setPropertyValues(propertyValuesA);
+        beanFactory.registerBeanDefinition("cyclicBeanA", definitionA);
+
+        BeanDefinition definitionB = new BeanDefinition(CyclicBeanB.class);
+        PropertyValues propertyValuesB = new PropertyValues();
+        propertyValuesB.addPropertyValue(new PropertyValue("other", new BeanReference("cyclicBeanA")));
+        definitionB.setPropertyValues(propertyValuesB);
+        beanFactory.registerBeanDefinition("cyclicBeanB", definitionB);
+
+        // Make sure both beans are instantiated before either one resolves its reference
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        CyclicBeanA.barrier = barrier;
+        CyclicBeanB.barrier = barrier;
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> first = executor.submit(() -> beanFactory.getBean("cyclicBeanA"));
+            Future<Object> second = executor.submit(() -> beanFactory.getBean("cyclicBeanB"));
+
+            CyclicBeanA beanA = (CyclicBeanA) first.get(5, TimeUnit.SECONDS);
+            CyclicBeanB beanB = (CyclicBeanB) second.get(5, TimeUnit.SECONDS);
+
+            assertSame(beanB, beanA.getOther());
+            assertSame(beanA, beanB.getOther());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test parallel pre-instantiation
+     * Independent slow beans are initialized concurrently, their dependent is created after both
+     */
+    @Test
+    public void testParallelPreInstantiateSingletons() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setParallelPreInstantiation(true);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        beanFactory.setPreInstantiationExecutor(executor);
+
+        BeanDefinition firstDefinition = new BeanDefinition(SlowBeanA.class);
+        firstDefinition.setInitMethodName("init");
+        beanFactory.registerBeanDefinition("slowBeanA", firstDefinition);
+
+        BeanDefinition secondDefinition = new BeanDefinition(SlowBeanB.class);
+        secondDefinition.setInitMethodName("init");
+        beanFactory.registerBeanDefinition("slowBeanB", secondDefinition);
+
+        BeanDefinition dependentDefinition = new BeanDefinition(DependentBean.class);
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("slowBeanA", new BeanReference("slowBeanA")));
+        propertyValues.addPropertyValue(new PropertyValue("slowBeanB", new BeanReference("slowBeanB")));
+        dependentDefinition.setPropertyValues(propertyValues);
+        dependentDefinition.setInitMethodName("init");
+        beanFactory.registerBeanDefinition("dependentBean", dependentDefinition);
+
+        CountDownLatch bothInitializing = new CountDownLatch(2);
+        SlowBeanA.latch = bothInitializing;
+        SlowBeanB.latch = bothInitializing;
+
+        try {
+            beanFactory.preInstantiateSingletons();
+
+            SlowBeanA beanA = (SlowBeanA) beanFactory.getBean("slowBeanA");
+            SlowBeanB beanB = (SlowBeanB) beanFactory.getBean("slowBeanB");
+            DependentBean dependentBean = (DependentBean) beanFactory.getBean("dependentBean");
+            assertTrue(beanA.sawConcurrentInit);
+            assertTrue(beanB.sawConcurrentInit);
+            assertTrue(dependentBean.dependenciesInitialized);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that parallel pre-instantiation fails with the error of the failing branch
+     */
+    @Test
+    public void testParallelPreInstantiateSingletonsFailsFast() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setParallelPreInstantiation(true);
+
+        BeanDefinition failingDefinition = new BeanDefinition(DependentBean.class);
+        failingDefinition.setInitMethodName("missingInitMethod");
+        beanFactory.registerBeanDefinition("failingBean", failingDefinition);
+
+        BeansException exception = assertThrows(BeansException.class, beanFactory::preInstantiateSingletons);
+        assertTrue(exception.getMessage().contains("failingBean"));
+    }
+
+    /**
+     * Slow bean A, init waits for slow bean B
+     */
+    public static class SlowBeanA {
+        static CountDownLatch latch;
+        boolean sawConcurrentInit;
+
+        public void init() throws InterruptedException {
+            latch.countDown();
+            sawConcurrentInit = latch.await(2, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Slow bean B, init waits for slow bean A
+     */
+    public static class SlowBeanB {
+        static CountDownLatch latch;
+        boolean sawConcurrentInit;
+
+        public void init() throws InterruptedException {
+            latch.countDown();
+            sawConcurrentInit = latch.await(2, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Cyclic bean A, references cyclic bean B
+     */
+    public static class CyclicBeanA {
+        static CyclicBarrier barrier;
+        private CyclicBeanB other;
+
+        public CyclicBeanA() throws Exception {
+            barrier.await(2, TimeUnit.SECONDS);
+        }
+
+        public CyclicBeanB getOther() {
+            return other;
+        }
+
+        public void setOther(CyclicBeanB other) {
+            this.other = other;
+        }
+    }
+
+    /**
+     * Cyclic bean B, references cyclic bean A
+     */
+    public static class CyclicBeanB {
+        static CyclicBarrier barrier;
+        private CyclicBeanA other;
+
+        public CyclicBeanB() throws Exception {
+            barrier.await(2, TimeUnit.SECONDS);
+        }
+
+        public CyclicBeanA getOther() {
+            return other;
+        }
+
+        public void setOther(CyclicBeanA other) {
+            this.other = other;
+        }
+    }
+
+    /**
+     * Disposable bean counting destroy callbacks
+     */
+    public static class CountingDisposableBean implements DisposableBean {
+        static final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public void destroy() {
+            destroyed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Bean depending on both slow beans
+     */
+    public static class DependentBean {
+        private SlowBeanA slowBeanA;
+        private SlowBeanB slowBeanB;
+        boolean dependenciesInitialized;
+
+        public void setSlowBeanA(SlowBeanA slowBeanA) {
+            this.slowBeanA = slowBeanA;
+        }
+
+        public void setSlowBeanB(SlowBeanB slowBeanB) {
+            this.slowBeanB = slowBeanB;
+        }
+
+        public void init() {
+            dependenciesInitialized = slowBeanA.sawConcurrentInit && slowBeanB.sawConcurrentInit;
+        }
+    }
+}
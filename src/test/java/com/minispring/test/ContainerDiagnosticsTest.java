@@ -0,0 +1,125 @@
+package com.minispring.test;
+
+import com.minispring.beans.PropertyValue;
+import com.minispring.beans.PropertyValues;
+import com.minispring.beans.factory.config.BeanDefinition;
+import com.minispring.beans.factory.config.BeanPostProcessor;
+import com.minispring.beans.factory.config.BeanReference;
+import com.minispring.beans.factory.support.BeanCreationMetrics;
+import com.minispring.beans.factory.support.DefaultListableBeanFactory;
+import com.minispring.core.trace.ContainerTrace;
+import com.minispring.core.trace.ContainerTracer;
+import com.minispring.test.bean.UserDaoImpl;
+import com.minispring.test.bean.UserService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Container diagnostics test class
+ * Test tracing, creation metrics and Flight Recorder events
+ */
+public class ContainerDiagnosticsTest {
+
+    /**
+     * Test routing container traces through a custom tracer
+     */
+    @Test
+    public void testContainerTracer() {
+        List<String> traces = new ArrayList<>();
+        AtomicBoolean enabled = new AtomicBoolean(false);
+        ContainerTrace.setTracer(new ContainerTracer() {
+            @Override
+            public boolean isTraceEnabled(Class<?> source) {
+                return enabled.get();
+            }
+            
+            @Override
+            public void trace(Class<?> source, String format, Object... args) {
+                traces.add(format);
+            }
+            
+            @Override
+            public void error(Class<?> source, String message, Throwable ex) {
+                traces.add(message);
+            }
+        });
+        try {
+            DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+            beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDaoImpl.class));
+            
+            // Disabled tracer receives nothing
+            beanFactory.getBean("userDao");
+            assertTrue(traces.isEmpty());
+            
+            // Enabled tracer receives cached lookups
+            enabled.set(true);
+            beanFactory.getBean("userDao");
+            assertTrue(traces.contains("Retrieved bean from cache: {}"));
+        } finally {
+            ContainerTrace.setTracer(null);
+        }
+    }
+    
+    /**
+     * Test per-bean creation phase metrics
+     */
+    @Test
+    public void testBeanCreationMetrics() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanCreationMetrics metrics = new BeanCreationMetrics();
+        beanFactory.setBeanCreationMetrics(metrics);
+        beanFactory.addBeanPostProcessor(new BeanPostProcessor() {
+        });
+        
+        BeanDefinition userServiceDefinition = new BeanDefinition(UserService.class);
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("userDao", new BeanReference("userDao")));
+        userServiceDefinition.setPropertyValues(propertyValues);
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDaoImpl.class));
+        beanFactory.registerBeanDefinition("userService", userServiceDefinition);
+        beanFactory.getBean("userService");
+        
+        // Both beans are recorded, the dependent bean includes its dependency and comes first
+        assertEquals(2, metrics.getRecords().size());
+        assertEquals("userService", metrics.getRecords().get(0).getBeanName());
+        List<BeanCreationMetrics.PhaseRecord> phases = metrics.getRecord("userDao").getPhases();
+        assertEquals(BeanCreationMetrics.Phase.CONSTRUCTOR_RESOLUTION.name(), phases.get(0).getName());
+        assertTrue(phases.stream().anyMatch(phase -> phase.getName().startsWith("BEFORE_INITIALIZATION ")));
+        assertTrue(metrics.report().contains("userDao"));
+    }
+    
+    /**
+     * Test bean creation Flight Recorder events
+     */
+    @Test
+    public void testBeanCreationFlightRecorderEvent() throws Exception {
+        Path recordingFile = Files.createTempFile("bean-creation", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.minispring.BeanCreation");
+            recording.start();
+            
+            DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+            beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDaoImpl.class));
+            beanFactory.getBean("userDao");
+            
+            recording.stop();
+            recording.dump(recordingFile);
+            
+            List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+            assertTrue(events.stream().anyMatch(event ->
+                    "userDao".equals(event.getString("beanName")) && "singleton".equals(event.getString("scope"))));
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+}
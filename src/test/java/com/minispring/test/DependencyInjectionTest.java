@@ -1,16 +1,29 @@
 package com.minispring.test;
 
+import com.minispring.beans.BeansException;
 import com.minispring.beans.PropertyValue;
 import com.minispring.beans.PropertyValues;
+import com.minispring.beans.factory.ObjectProvider;
 import com.minispring.beans.factory.config.BeanDefinition;
 import com.minispring.beans.factory.config.BeanReference;
 import com.minispring.beans.factory.support.DefaultListableBeanFactory;
+import com.minispring.test.bean.AutowiredBean;
+import com.minispring.test.bean.HeavyBean;
+import com.minispring.test.bean.HeavyBeanHolder;
+import com.minispring.test.bean.PrototypeBean;
+import com.minispring.test.bean.PrototypeBeanHolder;
 import com.minispring.test.bean.TestUserController;
 import com.minispring.test.bean.TestUserDao;
 import com.minispring.test.bean.TestUserService;
 import com.minispring.test.bean.TestUserServiceWithConstructor;
+import com.minispring.test.bean.UserDao;
+import com.minispring.test.bean.UserDaoImpl;
+import com.minispring.test.bean.UserService;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -102,6 +115,57 @@ public class DependencyInjectionTest {
         assertEquals("UserDao", userService.getUserDao().toString());
     }
     
+    /**
+     * Test repeated prototype creation through the cached constructor plan
+     */
+    @Test
+    public void testPrototypeConstructorPlanReuse() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(TestUserDao.class));
+        
+        BeanDefinition userServiceBeanDefinition = new BeanDefinition(TestUserServiceWithConstructor.class);
+        userServiceBeanDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("userServiceWithConstructor", userServiceBeanDefinition);
+        
+        TestUserDao userDao = (TestUserDao) beanFactory.getBean("userDao");
+        TestUserServiceWithConstructor first = (TestUserServiceWithConstructor) beanFactory.getBean("userServiceWithConstructor");
+        TestUserServiceWithConstructor second = (TestUserServiceWithConstructor) beanFactory.getBean("userServiceWithConstructor");
+        assertNotSame(first, second);
+        assertSame(userDao, first.getUserDao());
+        assertSame(userDao, second.getUserDao());
+        
+        // Explicit arguments use their own plan, keyed by argument types
+        TestUserDao otherDao = new TestUserDao();
+        TestUserServiceWithConstructor explicit = (TestUserServiceWithConstructor) beanFactory.getBean("userServiceWithConstructor", otherDao);
+        assertSame(otherDao, explicit.getUserDao());
+        TestUserServiceWithConstructor autowired = (TestUserServiceWithConstructor) beanFactory.getBean("userServiceWithConstructor");
+        assertSame(userDao, autowired.getUserDao());
+    }
+    
+    /**
+     * Test dependency misses resolved without creating mismatching beans
+     */
+    @Test
+    public void testDependencyResolutionMisses() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("userServiceWithConstructor", new BeanDefinition(TestUserServiceWithConstructor.class));
+        assertNull(beanFactory.getBeanIfAvailable("userDao"));
+        
+        // No candidate at all: falls back to the default constructor
+        TestUserServiceWithConstructor withoutDao = (TestUserServiceWithConstructor) beanFactory.getBean("userServiceWithConstructor");
+        assertNull(withoutDao.getUserDao());
+        
+        // A bean of another type under the parameter name is skipped without being created
+        beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(TestUserService.class));
+        beanFactory.registerBeanDefinition("testUserDao", new BeanDefinition(TestUserDao.class));
+        beanFactory.registerBeanDefinition("userServiceWithConstructor", new BeanDefinition(TestUserServiceWithConstructor.class));
+        TestUserServiceWithConstructor withDao = (TestUserServiceWithConstructor) beanFactory.getBean("userServiceWithConstructor");
+        assertSame(beanFactory.getBean("testUserDao"), withDao.getUserDao());
+        assertNull(beanFactory.getSingleton("userDao"));
+        assertNotNull(beanFactory.getBeanIfAvailable("userDao"));
+    }
+    
     /**
      * Test nested dependency
      */
@@ -134,4 +198,122 @@ public class DependencyInjectionTest {
         assertNotNull(userController.getUserService().getUserDao());
         assertEquals("UserDao", userController.getUserService().getUserDao().toString());
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Test lazy reference to a class type runs no constructor until the first call
+     */
+    @Test
+    public void testLazyClassReference() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDaoImpl.class));
+        beanFactory.registerBeanDefinition("heavyBean", new BeanDefinition(HeavyBean.class));
+        BeanDefinition holderDefinition = new BeanDefinition(HeavyBeanHolder.class);
+        holderDefinition.getPropertyValues().addPropertyValue(
+                new PropertyValue("heavyBean", new BeanReference("heavyBean", true)));
+        beanFactory.registerBeanDefinition("holder", holderDefinition);
+        
+        // The proxy subclasses HeavyBean, which has no no-arg constructor, without running its constructor
+        int constructed = HeavyBean.CONSTRUCTED.get();
+        HeavyBeanHolder holder = (HeavyBeanHolder) beanFactory.getBean("holder");
+        assertNotNull(holder.getHeavyBean());
+        assertEquals(constructed, HeavyBean.CONSTRUCTED.get());
+        assertNull(beanFactory.getSingleton("heavyBean"));
+        
+        // Calls resolve the bean once and go to the same target
+        assertEquals("Beijing", holder.getHeavyBean().queryUserName("Zhang San"));
+        assertEquals("Beijing", holder.getHeavyBean().queryUserName("Zhang San"));
+        assertEquals(constructed + 1, HeavyBean.CONSTRUCTED.get());
+        assertNotNull(beanFactory.getSingleton("heavyBean"));
+    }
+    
+    /**
+     * Test lazy-resolution proxy for a lazy bean reference
+     */
+    @Test
+    public void testLazyBeanReference() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDaoImpl.class));
+        
+        BeanDefinition userServiceDefinition = new BeanDefinition(UserService.class);
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("name", "10001"));
+        propertyValues.addPropertyValue(new PropertyValue("userDao", new BeanReference("userDao", true)));
+        userServiceDefinition.setPropertyValues(propertyValues);
+        beanFactory.registerBeanDefinition("userService", userServiceDefinition);
+        
+        // Creating the service injects a proxy, the referenced bean is not created yet
+        UserService userService = (UserService) beanFactory.getBean("userService");
+        assertNotNull(userService.getUserDao());
+        assertNull(beanFactory.getSingleton("userDao"));
+        
+        // First call resolves the bean
+        assertEquals(((UserDao) beanFactory.getBean("userDao")).queryUserName("10001"), userService.queryUserInfo());
+        assertNotNull(beanFactory.getSingleton("userDao"));
+    }
+    
+    /**
+     * Test ObjectProvider injection for prototype beans
+     */
+    @Test
+    public void testObjectProviderInjection() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanDefinition prototypeDefinition = new BeanDefinition(PrototypeBean.class);
+        prototypeDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("prototypeBean", prototypeDefinition);
+        
+        BeanDefinition holderDefinition = new BeanDefinition(PrototypeBeanHolder.class);
+        holderDefinition.getPropertyValues().addPropertyValue(
+                new PropertyValue("prototypeBeanProvider", new BeanReference("prototypeBean")));
+        beanFactory.registerBeanDefinition("holder", holderDefinition);
+        
+        // Each call creates a new prototype instance
+        PrototypeBeanHolder holder = (PrototypeBeanHolder) beanFactory.getBean("holder");
+        PrototypeBean first = holder.newPrototypeBean();
+        PrototypeBean second = holder.newPrototypeBean();
+        assertNotNull(first);
+        assertNotSame(first, second);
+        assertEquals(1, holder.getPrototypeBeanProvider().stream().count());
+        
+        // Prototypes bypass doGetBean but still notify bean request listeners
+        List<String> requestedBeans = new ArrayList<>();
+        beanFactory.setBeanRequestListener(requestedBeans::add);
+        holder.newPrototypeBean();
+        assertEquals(List.of("prototypeBean"), requestedBeans);
+        beanFactory.setBeanRequestListener(null);
+        
+        // Missing beans give null or an empty stream instead of an exception
+        ObjectProvider<Object> missing = beanFactory.getBeanProvider("missing");
+        assertNull(missing.getIfAvailable());
+        assertEquals(0, missing.stream().count());
+        assertThrows(BeansException.class, missing::get);
+    }
+    
+    /**
+     * Test annotation-driven field and method injection
+     */
+    @Test
+    public void testAutowiredInjection() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDaoImpl.class));
+        BeanDefinition prototypeDefinition = new BeanDefinition(PrototypeBean.class);
+        prototypeDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("prototypeBean", prototypeDefinition);
+        BeanDefinition autowiredDefinition = new BeanDefinition(AutowiredBean.class);
+        autowiredDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("autowiredBean", autowiredDefinition);
+        
+        UserDao userDao = (UserDao) beanFactory.getBean("userDao");
+        for (int i = 0; i < 1000; i++) {
+            AutowiredBean bean = (AutowiredBean) beanFactory.getBean("autowiredBean");
+            assertSame(userDao, bean.getUserDao());
+            assertSame(userDao, bean.getMethodUserDao());
+            assertNotNull(bean.getPrototypeBean());
+            assertNull(bean.getMissingBean());
+        }
+        
+        // Existing instances are injected the same way
+        AutowiredBean existing = new AutowiredBean();
+        beanFactory.autowireBean(existing, "existing");
+        assertSame(userDao, existing.getUserDao());
+    }
+}
@@ -1,16 +1,22 @@
 package com.minispring.test;
 
 import com.minispring.beans.BeanWrapper;
+import com.minispring.beans.BeansException;
 import com.minispring.beans.PropertyValue;
 import com.minispring.beans.PropertyValues;
 import com.minispring.beans.factory.config.BeanDefinition;
 import com.minispring.beans.factory.support.CglibSubclassingInstantiationStrategy;
 import com.minispring.beans.factory.support.DefaultListableBeanFactory;
 import com.minispring.beans.factory.support.InstantiationStrategy;
+import com.minispring.beans.factory.support.MethodHandleInstantiationStrategy;
 import com.minispring.beans.factory.support.SimpleInstantiationStrategy;
+import com.minispring.util.CglibClassCache;
 import org.junit.jupiter.api.Test;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -73,6 +79,64 @@ public class InstantiationStrategyTest {
         assertTrue(bean2 instanceof TestBean);
         assertEquals("test", ((TestBean) bean2).getName());
         assertEquals(42, ((TestBean) bean2).getAge());
+        
+        // Both instances share one generated subclass, the second request is a cache hit
+        assertSame(bean1.getClass(), bean2.getClass());
+        long hits = CglibClassCache.getHitCount();
+        long misses = CglibClassCache.getMissCount();
+        Object bean3 = strategy.instantiate(beanDefinition, "testBean", ctor, new Object[]{"other", 7});
+        assertSame(bean1.getClass(), bean3.getClass());
+        assertEquals("other", ((TestBean) bean3).getName());
+        assertTrue(CglibClassCache.getHitCount() > hits);
+        assertEquals(misses, CglibClassCache.getMissCount());
+    }
+    
+    /**
+     * Test that the class cache does not retain created instances
+     */
+    @Test
+    public void testCglibClassCacheRetainsNoInstance() throws Exception {
+        BeanDefinition beanDefinition = new BeanDefinition(TestBean.class);
+        InstantiationStrategy strategy = new CglibSubclassingInstantiationStrategy();
+        Constructor<?> ctor = TestBean.class.getDeclaredConstructor(String.class, int.class);
+        
+        WeakReference<Object> first = new WeakReference<>(strategy.instantiate(beanDefinition, "testBean", ctor, new Object[]{"first", 1}));
+        Object second = strategy.instantiate(beanDefinition, "testBean", ctor, new Object[]{"second", 2});
+        assertEquals("second", ((TestBean) second).getName());
+        for (int i = 0; i < 10 && first.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(first.get());
+    }
+    
+    /**
+     * Test method handle instantiation strategy
+     */
+    @Test
+    public void testMethodHandleInstantiationStrategy() throws Exception {
+        // Create BeanDefinition
+        BeanDefinition beanDefinition = new BeanDefinition(TestBean.class);
+        
+        // Create method handle instantiation strategy
+        InstantiationStrategy strategy = new MethodHandleInstantiationStrategy();
+        
+        // Instantiate using no-args constructor, the bean is not a generated subclass
+        Object bean1 = strategy.instantiate(beanDefinition, "testBean", null, null);
+        assertNotNull(bean1);
+        assertEquals(TestBean.class, bean1.getClass());
+        
+        // Instantiate twice using constructor with parameters, second call uses the compiled handle
+        Constructor<?> ctor = TestBean.class.getDeclaredConstructor(String.class, int.class);
+        for (int i = 0; i < 2; i++) {
+            Object bean2 = strategy.instantiate(beanDefinition, "testBean", ctor, new Object[]{"test", 42 + i});
+            assertEquals("test", ((TestBean) bean2).getName());
+            assertEquals(42 + i, ((TestBean) bean2).getAge());
+        }
+        
+        // Parameter count mismatch is rejected
+        assertThrows(BeansException.class,
+                () -> strategy.instantiate(beanDefinition, "testBean", ctor, new Object[]{"test"}));
     }
     
     /**
@@ -124,6 +188,39 @@ public class InstantiationStrategyTest {
         assertEquals(42, testBean.getAge());
     }
     
+    /**
+     * Test that literal property values are converted once per definition
+     */
+    @Test
+    public void testLiteralPropertyValueResolvedOnce() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        
+        BeanDefinition beanDefinition = new BeanDefinition(TestBean.class);
+        beanDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        PropertyValue ageValue = new PropertyValue("age", "42");
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(ageValue);
+        beanDefinition.setPropertyValues(propertyValues);
+        beanFactory.registerBeanDefinition("testBean", beanDefinition);
+        
+        // First instance converts and stores the value on the definition
+        assertEquals(42, ((TestBean) beanFactory.getBean("testBean")).getAge());
+        assertEquals(42, ageValue.getConvertedValue(int.class));
+        
+        // Second instance reuses it
+        assertEquals(42, ((TestBean) beanFactory.getBean("testBean")).getAge());
+        
+        // Changing the bean class invalidates the resolved value
+        beanDefinition.setBeanClass(TestBean.class);
+        assertNull(ageValue.getConvertedValue(int.class));
+        
+        // Mutable results are not shared between instances
+        PropertyValue listValue = new PropertyValue("values", "1");
+        assertFalse(listValue.setConvertedValue(int[].class, new int[] {1}));
+        assertFalse(listValue.setConvertedValue(List.class, new ArrayList<>()));
+        assertNull(listValue.getConvertedValue(List.class));
+    }
+    
     /**
      * Test BeanWrapper's nested property support
      */
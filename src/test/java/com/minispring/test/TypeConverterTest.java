@@ -53,6 +53,20 @@ public class TypeConverterTest {
         assertEquals("42", converter.convert(42, String.class));
     }
 
+    /**
+     * Test conversion capability check, answered without attempting a conversion
+     */
+    @Test
+    public void testCanConvert() {
+        TypeConverter converter = new SimpleTypeConverter();
+        assertTrue(converter.canConvert(String.class, int.class));
+        assertTrue(converter.canConvert(Long.class, Integer.class));
+        assertTrue(converter.canConvert(Integer.class, Number.class));
+        assertTrue(converter.canConvert(LocalDate.class, String.class));
+        assertFalse(converter.canConvert(LocalDate.class, Integer.class));
+        assertFalse(converter.canConvert(String.class, TypeConverterTest.class));
+    }
+    
     /**
      * Test date and time type conversion
      */
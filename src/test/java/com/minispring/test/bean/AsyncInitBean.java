@@ -0,0 +1,40 @@
+package com.minispring.test.bean;
+
+/**
+ * Async Init Bean class
+ * Used for testing asynchronous initialization methods
+ */
+public class AsyncInitBean {
+    
+    private volatile boolean initialized = false;
+    private volatile Thread initThread;
+    private AsyncInitBean dependency;
+    private boolean dependencyInitialized = false;
+    
+    public void init() throws InterruptedException {
+        Thread.sleep(200);
+        this.initThread = Thread.currentThread();
+        this.initialized = true;
+    }
+    
+    public boolean isInitialized() {
+        return initialized;
+    }
+    
+    public Thread getInitThread() {
+        return initThread;
+    }
+    
+    public AsyncInitBean getDependency() {
+        return dependency;
+    }
+    
+    public void setDependency(AsyncInitBean dependency) {
+        this.dependency = dependency;
+        this.dependencyInitialized = dependency.isInitialized();
+    }
+    
+    public boolean isDependencyInitialized() {
+        return dependencyInitialized;
+    }
+}
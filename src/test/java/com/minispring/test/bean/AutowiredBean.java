@@ -0,0 +1,41 @@
+package com.minispring.test.bean;
+
+import com.minispring.beans.factory.annotation.Autowired;
+
+/**
+ * Autowired Bean class
+ * Used for testing annotation-driven field and method injection
+ */
+public class AutowiredBean {
+    
+    @Autowired
+    private UserDao userDao;
+    
+    @Autowired(required = false)
+    private LifecycleBean missingBean;
+    
+    private UserDao methodUserDao;
+    private PrototypeBean prototypeBean;
+    
+    @Autowired
+    void inject(UserDao methodUserDao, PrototypeBean prototypeBean) {
+        this.methodUserDao = methodUserDao;
+        this.prototypeBean = prototypeBean;
+    }
+    
+    public UserDao getUserDao() {
+        return userDao;
+    }
+    
+    public LifecycleBean getMissingBean() {
+        return missingBean;
+    }
+    
+    public UserDao getMethodUserDao() {
+        return methodUserDao;
+    }
+    
+    public PrototypeBean getPrototypeBean() {
+        return prototypeBean;
+    }
+}
@@ -0,0 +1,23 @@
+package com.minispring.test.bean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Heavy Bean class
+ * Counts constructor runs, used for testing lazy-resolution proxies
+ */
+public class HeavyBean {
+    
+    public static final AtomicInteger CONSTRUCTED = new AtomicInteger();
+    
+    private final UserDao userDao;
+    
+    public HeavyBean(UserDao userDao) {
+        CONSTRUCTED.incrementAndGet();
+        this.userDao = userDao;
+    }
+    
+    public String queryUserName(String userName) {
+        return userDao.queryUserName(userName);
+    }
+}
@@ -0,0 +1,18 @@
+package com.minispring.test.bean;
+
+/**
+ * Heavy Bean Holder class
+ * Holds a lazily resolved heavy bean
+ */
+public class HeavyBeanHolder {
+    
+    private HeavyBean heavyBean;
+    
+    public HeavyBean getHeavyBean() {
+        return heavyBean;
+    }
+    
+    public void setHeavyBean(HeavyBean heavyBean) {
+        this.heavyBean = heavyBean;
+    }
+}
@@ -0,0 +1,24 @@
+package com.minispring.test.bean;
+
+import com.minispring.beans.factory.ObjectProvider;
+
+/**
+ * Prototype Bean Holder class
+ * Singleton obtaining prototype instances through an injected provider
+ */
+public class PrototypeBeanHolder {
+    
+    private ObjectProvider<PrototypeBean> prototypeBeanProvider;
+    
+    public ObjectProvider<PrototypeBean> getPrototypeBeanProvider() {
+        return prototypeBeanProvider;
+    }
+    
+    public void setPrototypeBeanProvider(ObjectProvider<PrototypeBean> prototypeBeanProvider) {
+        this.prototypeBeanProvider = prototypeBeanProvider;
+    }
+    
+    public PrototypeBean newPrototypeBean() {
+        return prototypeBeanProvider.get();
+    }
+}
@@ -6,7 +6,11 @@ import com.minispring.core.io.ClassPathResource;
 import com.minispring.core.io.Resource;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Namespace handler test class
@@ -31,4 +35,26 @@ public class NamespaceHandlerTest {
         
         System.out.println("Successfully loaded Bean definitions: person, address");
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void testDefaultLazyInit() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(beanFactory);
+        reader.loadBeanDefinitions(new ClassPathResource("lazy-init.xml"));
+        
+        // context:default-lazy-init applies to beans without own lazy-init
+        assertTrue(beanFactory.getBeanDefinition("address").isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition("unusedAddress").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("person").isLazyInit());
+        
+        // Only the eager bean and its dependency are created up front
+        beanFactory.preInstantiateSingletons();
+        assertNotNull(beanFactory.getSingleton("person"));
+        assertNotNull(beanFactory.getSingleton("address"));
+        assertNull(beanFactory.getSingleton("unusedAddress"));
+        
+        // Lazy singleton is created on first access and cached
+        Object unusedAddress = beanFactory.getBean("unusedAddress");
+        assertSame(unusedAddress, beanFactory.getBean("unusedAddress"));
+    }
+}